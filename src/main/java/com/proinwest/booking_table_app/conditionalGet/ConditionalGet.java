@@ -0,0 +1,26 @@
+package com.proinwest.booking_table_app.conditionalGet;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/** Responses of GET endpoints that clients poll, answered with 304 and no lookup while their ETag still matches. */
+public final class ConditionalGet {
+    /** Shared caches may store the response, but everyone has to revalidate it before use. */
+    public static final CacheControl PUBLIC = CacheControl.noCache();
+    /** Only the client may store the response, e.g. because it shows users, and has to revalidate it before use. */
+    public static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String eTag, CacheControl cacheControl, Supplier<T> body) {
+        // sets the status and the ETag of a 304 itself
+        if (request.checkNotModified(eTag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(body.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.proinwest.booking_table_app.conditionalGet;
+
+import com.proinwest.booking_table_app.diningTable.DiningTableChangedEvent;
+import com.proinwest.booking_table_app.reservation.BookedSlot;
+import com.proinwest.booking_table_app.reservation.ReservationsChangedEvent;
+import com.proinwest.booking_table_app.user.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the polled read endpoints: one per reservation date, one for the dining
+ * tables and one for the users, moved on once a write is committed on this instance. Their listeners run after
+ * all others, so the caches of this instance have dropped what a write changed before a new ETag is handed out.
+ * <p>
+ * ETags also carry an epoch that differs per instance and changes every {@code conditional-get.revalidate-after},
+ * since writes made on other instances sharing the database are not counted here: a client gets the full response
+ * again at least that often.
+ */
+@Component
+public class ContentVersions {
+    private final Map<LocalDate, AtomicLong> reservationVersions = new ConcurrentHashMap<>();
+    private final AtomicLong diningTablesVersion = new AtomicLong();
+    private final AtomicLong usersVersion = new AtomicLong();
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final long startedAt = System.nanoTime();
+    private final long revalidateAfterNanos;
+
+    public ContentVersions(@Value("${conditional-get.revalidate-after:1m}") Duration revalidateAfter) {
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+    }
+
+    /** Read before the content it tags, so the content is never older than its ETag. */
+    public String diningTablesETag() {
+        return eTag(diningTablesVersion.get());
+    }
+
+    /** Free tables and the occupancy grid of a date show its reservations at the current dining tables. */
+    public String availabilityETag(LocalDate date) {
+        return eTag(reservationVersion(date), diningTablesVersion.get());
+    }
+
+    /** Reservations show their dining tables and users, so their ETag moves on with those too. */
+    public String reservationsETag(LocalDate date) {
+        return eTag(reservationVersion(date), diningTablesVersion.get(), usersVersion.get());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationsChanged(ReservationsChangedEvent event) {
+        event.slots().stream()
+                .map(BookedSlot::date)
+                .distinct()
+                .forEach(date -> reservationVersions.computeIfAbsent(date, key -> new AtomicLong()).incrementAndGet());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiningTableChanged(DiningTableChangedEvent event) {
+        diningTablesVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        usersVersion.incrementAndGet();
+    }
+
+    private long reservationVersion(LocalDate date) {
+        final AtomicLong version = reservationVersions.get(date);
+        return version == null ? 0 : version.get();
+    }
+
+    private String eTag(long... versions) {
+        final StringBuilder eTag = new StringBuilder(instance)
+                .append('.')
+                .append((System.nanoTime() - startedAt) / revalidateAfterNanos);
+        for (long version : versions) {
+            eTag.append('-').append(version);
+        }
+        return eTag.toString();
+    }
+}
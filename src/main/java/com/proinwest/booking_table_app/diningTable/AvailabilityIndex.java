@@ -0,0 +1,83 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.reservation.BookedSlot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.proinwest.booking_table_app.reservation.ReservationService.CLOSING_TIME;
+import static com.proinwest.booking_table_app.reservation.ReservationService.OPENING_TIME;
+
+/**
+ * Occupancy of a list of tables over consecutive days, built once from booked slots read in one go. As in the
+ * reservation schedule, every table-day is a bitmask with one bit per minute of opening hours, so checking a time
+ * range is a few word ANDs; table-days without bookings have no bitmask at all.
+ * Tables and days are addressed by their position in the list and their offset from the first date.
+ */
+final class AvailabilityIndex {
+    private static final int OPENING_MINUTE = OPENING_TIME.toSecondOfDay() / 60;
+    static final int MINUTES_OPEN = CLOSING_TIME.toSecondOfDay() / 60 - OPENING_MINUTE;
+    private static final int WORDS = (MINUTES_OPEN + Long.SIZE - 1) / Long.SIZE;
+
+    private final int tables;
+    private final long[][] occupancy;
+
+    AvailabilityIndex(LocalDate firstDate, int days, List<DiningTable> diningTables, Collection<BookedSlot> bookedSlots) {
+        this.tables = diningTables.size();
+        this.occupancy = new long[days * tables][];
+
+        final Map<Integer, Integer> positionsById = new HashMap<>();
+        for (int position = 0; position < tables; position++) {
+            positionsById.put(diningTables.get(position).getId(), position);
+        }
+
+        final long firstDay = firstDate.toEpochDay();
+        for (BookedSlot bookedSlot : bookedSlots) {
+            final Integer position = positionsById.get(bookedSlot.diningTableId());
+            final LocalDate date = bookedSlot.startsAt().toLocalDate();
+            final long day = date.toEpochDay() - firstDay;
+            if (position == null || day < 0 || day >= days) continue;
+
+            final int index = (int) day * tables + position;
+            if (occupancy[index] == null) occupancy[index] = new long[WORDS];
+            final int fromMinute = bookedSlot.startsAt().toLocalTime().toSecondOfDay() / 60 - OPENING_MINUTE;
+            final int toMinute = bookedSlot.endsAt().toLocalDate().isAfter(date)
+                    ? MINUTES_OPEN
+                    : Math.ceilDiv(bookedSlot.endsAt().toLocalTime().toSecondOfDay(), 60) - OPENING_MINUTE;
+            mark(occupancy[index], Math.clamp(fromMinute, 0, MINUTES_OPEN), Math.clamp(toMinute, 0, MINUTES_OPEN));
+        }
+    }
+
+    /** Minutes since opening time. */
+    static int minuteOf(LocalTime time) {
+        return time.toSecondOfDay() / 60 - OPENING_MINUTE;
+    }
+
+    /** Whether the table at {@code position} is free on day {@code day} from {@code fromMinute} until {@code toMinute}. */
+    boolean isFree(int day, int position, int fromMinute, int toMinute) {
+        final long[] words = occupancy[day * tables + position];
+        if (words == null) return true;
+
+        for (int minute = fromMinute; minute < toMinute; minute = (minute / Long.SIZE + 1) * Long.SIZE) {
+            final int word = minute / Long.SIZE;
+            if ((words[word] & bits(minute, Math.min(toMinute, (word + 1) * Long.SIZE))) != 0) return false;
+        }
+        return true;
+    }
+
+    private static void mark(long[] words, int fromMinute, int toMinute) {
+        for (int minute = fromMinute; minute < toMinute; minute = (minute / Long.SIZE + 1) * Long.SIZE) {
+            final int word = minute / Long.SIZE;
+            words[word] |= bits(minute, Math.min(toMinute, (word + 1) * Long.SIZE));
+        }
+    }
+
+    private static long bits(int fromMinute, int toMinute) {
+        final long upTo = toMinute % Long.SIZE == 0 ? -1L : (1L << (toMinute % Long.SIZE)) - 1;
+        return upTo & (-1L << (fromMinute % Long.SIZE));
+    }
+}
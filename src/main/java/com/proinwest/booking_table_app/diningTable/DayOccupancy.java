@@ -0,0 +1,17 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Occupancy of every dining table on one day, split into slots of {@code slotMinutes} from {@code opensAt}
+ * to closing time. Tables are ordered by number.
+ */
+public record DayOccupancy(
+        LocalDate date,
+        LocalTime opensAt,
+        int slotMinutes,
+        List<TableOccupancy> tables
+) {
+}
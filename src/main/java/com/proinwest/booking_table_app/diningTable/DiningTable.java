@@ -1,22 +1,28 @@
 package com.proinwest.booking_table_app.diningTable;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proinwest.booking_table_app.idGenerator.PooledId;
 import com.proinwest.booking_table_app.reservation.Reservation;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_dining_table_seats", columnList = "seats, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
 public class DiningTable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Integer id;
 
     @Column(unique = true)
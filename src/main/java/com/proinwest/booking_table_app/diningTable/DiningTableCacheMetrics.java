@@ -0,0 +1,50 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.reservation.Reservation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the dining table cache counters from Hibernate's statistics. Dining tables are the only cacheable entity and
+ * their lookups by id the only cacheable queries, so the query cache totals are theirs: the batch validation's
+ * {@code findAllById} and the {@code existsById} a catalog miss asks.
+ */
+@Component
+public class DiningTableCacheMetrics {
+    private static final String REGION = DiningTable.class.getName();
+
+    private final Statistics statistics;
+
+    public DiningTableCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    DiningTableCacheStatistics statistics() {
+        final CacheRegionStatistics entities = statistics.getDomainDataRegionStatistics(REGION);
+        final long entityHits = entities.getHitCount();
+        final long entityMisses = entities.getMissCount();
+        final long queryHits = statistics.getQueryCacheHitCount();
+        final long queryMisses = statistics.getQueryCacheMissCount();
+        final long roundTripsSaved = entityHits + queryHits;
+        final long bookings = statistics.getEntityStatistics(Reservation.class.getName()).getInsertCount();
+
+        return new DiningTableCacheStatistics(
+                entityHits,
+                entityMisses,
+                rate(entityHits, entityMisses),
+                queryHits,
+                queryMisses,
+                rate(queryHits, queryMisses),
+                roundTripsSaved,
+                bookings,
+                bookings == 0 ? 0 : (double) roundTripsSaved / bookings
+        );
+    }
+
+    private static double rate(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
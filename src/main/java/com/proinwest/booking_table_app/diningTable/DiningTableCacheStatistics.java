@@ -0,0 +1,18 @@
+package com.proinwest.booking_table_app.diningTable;
+
+/**
+ * Cache counters for dining tables since startup. Every hit is a statement that did not reach the database;
+ * {@code roundTripsSavedPerBooking} spreads them over the reservations inserted in the same period.
+ */
+public record DiningTableCacheStatistics(
+        long entityHits,
+        long entityMisses,
+        double entityHitRate,
+        long queryHits,
+        long queryMisses,
+        double queryHitRate,
+        long roundTripsSaved,
+        long bookings,
+        double roundTripsSavedPerBooking
+) {
+}
@@ -0,0 +1,135 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of all dining tables. Tables are sorted by seats, then id, and {@code firstWithSeats[s]} is the
+ * position of the first table with at least {@code s} seats, so the tables seating a party are a suffix of the list.
+ * Ids and numbers are kept in sorted primitive arrays, so lookups neither box nor allocate.
+ * Writes never modify a snapshot; {@link #with(DiningTable)} and {@link #without(int)} return a new one, which keeps
+ * the load time of the snapshot it was derived from, as the other tables are still as old as that load.
+ */
+final class DiningTableCatalog {
+    private static final Comparator<DiningTable> BY_SEATS = Comparator
+            .comparingInt((DiningTable diningTable) -> diningTable.getSeats())
+            .thenComparingInt(DiningTable::getId);
+
+    private final List<DiningTable> bySeats;
+    private final List<DiningTable> byNumber;
+    private final int[] firstWithSeats;
+    private final int[] sortedIds;
+    private final int[] numbersBySortedId;
+    private final int[] seatsBySortedId;
+    private final int[] sortedNumbers;
+    private final int[] idsBySortedNumber;
+    private final long loadedAt;
+
+    private DiningTableCatalog(DiningTable[] tables, long loadedAt) {
+        this.loadedAt = loadedAt;
+        Arrays.sort(tables, BY_SEATS);
+        this.bySeats = List.of(tables);
+
+        this.firstWithSeats = new int[tables.length == 0 ? 0 : tables[tables.length - 1].getSeats() + 1];
+        for (int seats = 0, position = 0; seats < firstWithSeats.length; seats++) {
+            while (tables[position].getSeats() < seats) position++;
+            firstWithSeats[seats] = position;
+        }
+
+        final DiningTable[] byId = tables.clone();
+        Arrays.sort(byId, Comparator.comparingInt(DiningTable::getId));
+        this.sortedIds = new int[byId.length];
+        this.numbersBySortedId = new int[byId.length];
+        this.seatsBySortedId = new int[byId.length];
+        for (int i = 0; i < byId.length; i++) {
+            sortedIds[i] = byId[i].getId();
+            numbersBySortedId[i] = byId[i].getNumber();
+            seatsBySortedId[i] = byId[i].getSeats();
+        }
+
+        final DiningTable[] byNumber = tables.clone();
+        Arrays.sort(byNumber, Comparator.comparingInt(DiningTable::getNumber));
+        this.byNumber = List.of(byNumber);
+        this.sortedNumbers = new int[byNumber.length];
+        this.idsBySortedNumber = new int[byNumber.length];
+        for (int i = 0; i < byNumber.length; i++) {
+            sortedNumbers[i] = byNumber[i].getNumber();
+            idsBySortedNumber[i] = byNumber[i].getId();
+        }
+    }
+
+    /** Snapshot of copies of the given tables, so later changes to the entities do not leak into it. */
+    static DiningTableCatalog of(Collection<DiningTable> diningTables) {
+        return new DiningTableCatalog(diningTables.stream().map(DiningTableCatalog::copyOf).toArray(DiningTable[]::new),
+                System.nanoTime());
+    }
+
+    /** New snapshot with the table added, or replacing the table with the same id. */
+    DiningTableCatalog with(DiningTable diningTable) {
+        final DiningTable[] tables = bySeats.stream()
+                .filter(existing -> !existing.getId().equals(diningTable.getId()))
+                .toArray(size -> new DiningTable[size + 1]);
+        tables[tables.length - 1] = copyOf(diningTable);
+        return new DiningTableCatalog(tables, loadedAt);
+    }
+
+    /** New snapshot without the table with the given id. */
+    DiningTableCatalog without(int id) {
+        return new DiningTableCatalog(bySeats.stream()
+                .filter(existing -> existing.getId() != id)
+                .toArray(DiningTable[]::new), loadedAt);
+    }
+
+    /** Whether the snapshot was loaded from the database longer than {@code age} ago. */
+    boolean isOlderThan(Duration age) {
+        return System.nanoTime() - loadedAt > age.toNanos();
+    }
+
+    /** Tables with at least {@code seats} seats, fewest seats first, as a view of the snapshot. */
+    List<DiningTable> withMinSeats(int seats) {
+        if (seats >= firstWithSeats.length) return List.of();
+        return bySeats.subList(firstWithSeats[Math.max(seats, 0)], bySeats.size());
+    }
+
+    /** All tables, ordered by number. */
+    List<DiningTable> byNumber() {
+        return byNumber;
+    }
+
+    boolean containsId(int id) {
+        return Arrays.binarySearch(sortedIds, id) >= 0;
+    }
+
+    boolean containsNumber(int number) {
+        return Arrays.binarySearch(sortedNumbers, number) >= 0;
+    }
+
+    /** Whether a table other than the one with the given id has the number. Numbers are unique. */
+    boolean containsNumberOfOtherTable(int number, int id) {
+        final int position = Arrays.binarySearch(sortedNumbers, number);
+        return position >= 0 && idsBySortedNumber[position] != id;
+    }
+
+    /** Number of the table with the given id, or {@code 0} when there is none. */
+    int numberOf(int id) {
+        final int position = Arrays.binarySearch(sortedIds, id);
+        return position < 0 ? 0 : numbersBySortedId[position];
+    }
+
+    /** Seats of the table with the given id, or {@code 0} when there is none. */
+    int seatsOf(int id) {
+        final int position = Arrays.binarySearch(sortedIds, id);
+        return position < 0 ? 0 : seatsBySortedId[position];
+    }
+
+    private static DiningTable copyOf(DiningTable diningTable) {
+        final DiningTable copy = new DiningTable();
+        copy.setId(diningTable.getId());
+        copy.setNumber(diningTable.getNumber());
+        copy.setSeats(diningTable.getSeats());
+        return copy;
+    }
+}
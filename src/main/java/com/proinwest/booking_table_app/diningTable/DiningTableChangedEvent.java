@@ -0,0 +1,9 @@
+package com.proinwest.booking_table_app.diningTable;
+
+/**
+ * Published by {@link DiningTableService} after a dining table is added, changed or deleted.
+ * {@code seats} is the larger of its seats before and after the change, so every search the table could have been
+ * part of asked for at most that many seats.
+ */
+public record DiningTableChangedEvent(Integer diningTableId, int seats) {
+}
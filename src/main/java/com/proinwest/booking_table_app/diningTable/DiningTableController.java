@@ -1,9 +1,14 @@
 package com.proinwest.booking_table_app.diningTable;
 
+import com.proinwest.booking_table_app.conditionalGet.ConditionalGet;
+import com.proinwest.booking_table_app.conditionalGet.ContentVersions;
 import com.proinwest.booking_table_app.reservation.Reservation;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -11,15 +16,42 @@ import java.util.List;
 public class DiningTableController {
 
     private final DiningTableService diningTableService;
+    private final DiningTableCacheMetrics diningTableCacheMetrics;
+    private final FreeTablesCache freeTablesCache;
+    private final ContentVersions contentVersions;
 
-    public DiningTableController(DiningTableService diningTableService) {
+    public DiningTableController(DiningTableService diningTableService, DiningTableCacheMetrics diningTableCacheMetrics,
+                                 FreeTablesCache freeTablesCache, ContentVersions contentVersions)
+    {
         this.diningTableService = diningTableService;
+        this.diningTableCacheMetrics = diningTableCacheMetrics;
+        this.freeTablesCache = freeTablesCache;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping()
-    public ResponseEntity<List<DiningTable>> getAllDiningTables() {
-        List<DiningTable> allDiningTables = diningTableService.getAllDiningTables();
-        return ResponseEntity.ok(allDiningTables);
+    public ResponseEntity<List<DiningTable>> getAllDiningTables(WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, contentVersions.diningTablesETag(), ConditionalGet.PUBLIC,
+                diningTableService::getAllDiningTables);
+    }
+
+    @GetMapping("/cache-statistics")
+    public ResponseEntity<DiningTableCacheStatistics> getCacheStatistics() {
+        return ResponseEntity.ok(diningTableCacheMetrics.statistics());
+    }
+
+    @GetMapping("/freetables/cache-statistics")
+    public ResponseEntity<FreeTablesCacheStatistics> getFreeTablesCacheStatistics() {
+        return ResponseEntity.ok(freeTablesCache.statistics());
+    }
+
+    /** Which slots of the day each table is booked in, for drawing the whole floor plan with one request. */
+    @GetMapping("/occupancy/{date}")
+    public ResponseEntity<DayOccupancy> getDayOccupancy(@PathVariable LocalDate date, @RequestParam(required = false) Integer slot,
+                                                        WebRequest request)
+    {
+        return ConditionalGet.ifNoneMatch(request, contentVersions.availabilityETag(date), ConditionalGet.PUBLIC,
+                () -> diningTableService.getDayOccupancy(date, slot));
     }
 
     @GetMapping("/{id}")
@@ -57,6 +89,23 @@ public class DiningTableController {
         List<DiningTable> freeTables =  diningTableService.getFreeTables(reservation);
         return ResponseEntity.ok(freeTables);
     }
-}
 
+    /** Same search as above, with the criteria in the URL so that HTTP caches can keep and revalidate the answer. */
+    @GetMapping(value = "/freetables", params = "date")
+    public ResponseEntity<List<DiningTable>> freeTables(@RequestParam LocalDate date, @RequestParam(required = false) LocalTime time,
+                                                       @RequestParam(required = false) Integer duration, @RequestParam(required = false) Integer seats,
+                                                       WebRequest request)
+    {
+        return ConditionalGet.ifNoneMatch(request, contentVersions.availabilityETag(date), ConditionalGet.PUBLIC,
+                () -> diningTableService.getFreeTables(date, time, duration, seats));
+    }
 
+    /** Free slots on the following days and around the preferred time, for when the requested one is taken. */
+    @GetMapping("/freetables/next")
+    public ResponseEntity<List<FreeSlot>> nextFreeSlots(@RequestParam LocalDate date, @RequestParam(required = false) LocalTime time,
+                                                        @RequestParam(required = false) Integer duration, @RequestParam(required = false) Integer seats,
+                                                        @RequestParam(required = false) Integer days, @RequestParam(required = false) Integer limit)
+    {
+        return ResponseEntity.ok(diningTableService.findNextFreeSlots(date, time, duration, seats, days, limit));
+    }
+}
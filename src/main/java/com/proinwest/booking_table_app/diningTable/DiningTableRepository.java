@@ -1,26 +1,43 @@
 package com.proinwest.booking_table_app.diningTable;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Lookups of dining tables are served from the query cache and the tables from the second-level cache.
+ * Hibernate invalidates both on every write it makes to {@code dining_table}; writes bypassing it need a cache eviction.
+ * {@link #findAll()} is left uncached, as {@link DiningTableService} reloads its catalog with it to see other instances' writes.
+ * Lookups by seats and number are answered by that catalog, so only the lookups by id remain here.
+ */
 public interface DiningTableRepository extends JpaRepository<DiningTable, Integer> {
 
-    @Query(value = "SELECT DISTINCT dt.* " +
-            "FROM dining_table dt " +
-            "JOIN reservation r ON dt.id = r.table_id " +
-            "WHERE TIMESTAMP(r.reservation_date, r.reservation_time) < TIMESTAMP(:date, :time) + INTERVAL :duration HOUR " +
-            "AND TIMESTAMP(r.reservation_date, r.reservation_time) + INTERVAL r.duration HOUR > TIMESTAMP(:date, :time)", nativeQuery = true)
-    List<DiningTable> BookedTablesByDateTimeAndDuration(LocalDate date, LocalTime time, int duration);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DiningTable> findAllById(Iterable<Integer> ids);
 
-    @Query(value = "SELECT dt.number FROM dining_table dt WHERE dt.id = :id", nativeQuery = true)
-    int findNumberById(Integer id);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Integer id);
 
-    @Query(value = "SELECT DISTINCT dt.* FROM dining_table dt WHERE dt.seats >= :seats", nativeQuery = true)
-    List<DiningTable> allDiningTablesWithMinSeats(Integer seats);
+    @Query("SELECT dt FROM DiningTable dt WHERE dt.id IN (SELECT r.diningTable.id FROM Reservation r " +
+            "WHERE r.startsAt > :earliestStartsAt AND r.startsAt < :endsAt AND r.endsAt > :startsAt)")
+    List<DiningTable> bookedTablesBetween(LocalDateTime startsAt, LocalDateTime endsAt, LocalDateTime earliestStartsAt);
 
-    boolean existsByNumber(int tableNumber);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dt FROM DiningTable dt WHERE dt.id = :id")
+    Optional<DiningTable> findAndLockById(Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT dt FROM DiningTable dt WHERE dt.id IN :ids ORDER BY dt.id")
+    List<DiningTable> findAndLockAllById(Collection<Integer> ids);
 }
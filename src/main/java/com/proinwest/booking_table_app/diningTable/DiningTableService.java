@@ -3,16 +3,28 @@ package com.proinwest.booking_table_app.diningTable;
 import com.proinwest.booking_table_app.exceptions.InvalidInputException;
 import com.proinwest.booking_table_app.exceptions.NotFoundException;
 import com.proinwest.booking_table_app.exceptions.ValidationException;
+import com.proinwest.booking_table_app.reservation.BookedSlot;
+import com.proinwest.booking_table_app.reservation.BookingGuard;
 import com.proinwest.booking_table_app.reservation.Reservation;
 import com.proinwest.booking_table_app.reservation.ReservationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.proinwest.booking_table_app.reservation.ReservationService.CLOSING_TIME;
+import static com.proinwest.booking_table_app.reservation.ReservationService.MAX_DURATION;
+import static com.proinwest.booking_table_app.reservation.ReservationService.OPENING_TIME;
+import static java.time.temporal.ChronoUnit.SECONDS;
 
 @Service
 public class DiningTableService {
@@ -23,16 +35,44 @@ public class DiningTableService {
     public static final int MIN_SEATS = 1;
     public static final int MAX_SEATS = 50;
     public static final String SEATS_MESSAGE = "Number of seats should be between " + MIN_SEATS + " and " + MAX_SEATS + ".";
+    public static final int DEFAULT_SLOT_MINUTES = 30;
+    public static final int MIN_SLOT_MINUTES = 5;
+    public static final String SLOT_MESSAGE = "Slot length should divide an hour and be between " + MIN_SLOT_MINUTES + " and 60 minutes.";
+    public static final int DEFAULT_HORIZON_DAYS = 14;
+    public static final int MAX_HORIZON_DAYS = 90;
+    public static final String HORIZON_MESSAGE = "Number of days to search should be between 1 and " + MAX_HORIZON_DAYS + ".";
+    public static final int DEFAULT_FREE_SLOTS = 5;
+    public static final int MAX_FREE_SLOTS = 20;
+    public static final String FREE_SLOTS_MESSAGE = "Number of free slots should be between 1 and " + MAX_FREE_SLOTS + ".";
+    /** Free slots start this many minutes apart, counted from the preferred time. */
+    static final int FREE_SLOT_STEP_MINUTES = 30;
     private final DiningTableRepository diningTableRepository;
     private final ReservationService reservationService;
     private final DiningTableValidator diningTableValidator;
+    private final BookingGuard bookingGuard;
+    private final FreeTablesCache freeTablesCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration catalogExpiry;
+    /**
+     * Snapshot read by the lookups on the booking path, loaded on first use and swapped after every write made here.
+     * Writes made elsewhere, e.g. by another instance, are picked up when a lookup misses an id that the database has
+     * and otherwise by the first lookup after the snapshot is {@code dining-tables.catalog.expire-after-load} old.
+     */
+    private final AtomicReference<DiningTableCatalog> catalog = new AtomicReference<>();
 
     public DiningTableService(DiningTableRepository diningTableRepository,
-                              @Lazy ReservationService reservationService, DiningTableValidator diningTableValidator)
+                              @Lazy ReservationService reservationService, DiningTableValidator diningTableValidator,
+                              BookingGuard bookingGuard, FreeTablesCache freeTablesCache,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${dining-tables.catalog.expire-after-load:5m}") Duration catalogExpiry)
     {
         this.diningTableRepository = diningTableRepository;
         this.reservationService = reservationService;
         this.diningTableValidator = diningTableValidator;
+        this.bookingGuard = bookingGuard;
+        this.freeTablesCache = freeTablesCache;
+        this.eventPublisher = eventPublisher;
+        this.catalogExpiry = catalogExpiry;
     }
 
     public List<DiningTable> getAllDiningTables() {
@@ -50,7 +90,7 @@ public class DiningTableService {
     DiningTable addDiningTable(DiningTable diningTable) {
         validateDiningTable(diningTable.getId(), diningTable);
 
-        return diningTableRepository.save(diningTable);
+        return changed(cataloged(diningTableRepository.save(diningTable)), 0);
     }
 
     URI location (DiningTable diningTable) {
@@ -61,24 +101,25 @@ public class DiningTableService {
     }
 
     DiningTable updateDiningTable(Integer id, DiningTable diningTable) {
+        final int previousSeats = catalog().seatsOf(id);
         DiningTable diningTableToUpdate = diningTableRepository.findById(id)
                 .map(updatingDiningTable -> updateDiningTable(diningTable, updatingDiningTable))
                 .orElseThrow(() -> new NotFoundException("Dining table with id " + id + " was not found."));
 
         validateDiningTable(id, diningTableToUpdate);
 
-        return diningTableRepository.save(diningTableToUpdate);
+        return changed(cataloged(diningTableRepository.save(diningTableToUpdate)), previousSeats);
     }
 
     DiningTable partiallyUpdateDiningTable(Integer id, DiningTable diningTable) {
-
+        final int previousSeats = catalog().seatsOf(id);
         final DiningTable diningTableToUpdate = diningTableRepository.findById(id)
                 .map(updatingDiningTable -> partiallyUpdateDiningTable(diningTable, updatingDiningTable))
                 .orElseThrow(() -> new NotFoundException("Dining table with id " + id + " was not found."));
 
         validateDiningTable(id, diningTableToUpdate);
 
-        return diningTableRepository.save(diningTableToUpdate);
+        return changed(cataloged(diningTableRepository.save(diningTableToUpdate)), previousSeats);
     }
 
     void deleteDiningTable(Integer id) {
@@ -88,54 +129,200 @@ public class DiningTableService {
         if (!reservationService.findAllByDiningTableId(id).isEmpty())
             throw new InvalidInputException("Dining table with " + id + " can not be deleted because it has at least one reservation assigned.");
 
+        final int seats = catalog().seatsOf(id);
         diningTableRepository.deleteById(id);
+        catalog.updateAndGet(current -> current == null ? null : current.without(id));
+        eventPublisher.publishEvent(new DiningTableChangedEvent(id, seats));
     }
 
     List<DiningTable> getFreeTables(Reservation reservation) {
         reservationService.validateDateTimeDurationAndSeats(reservation);
 
-        final Iterable<DiningTable> allDiningTablesWithMinSeats = getAllDiningTablesWithMinSeats(reservation.getDiningTable().getSeats());
-        final List<DiningTable> bookedDiningTables = getBookedDiningTables(
+        final List<DiningTable> availableTables = freeTablesCache.get(FreeTablesQuery.of(reservation), () -> bookingGuard.freeTables(
+                getAllDiningTablesWithMinSeats(reservation.getDiningTable().getSeats()),
                 reservation.getReservationDate(),
                 reservation.getReservationTime(),
                 reservation.getDuration()
-        );
-
-        final Set<DiningTable> freeTables = new HashSet<>((Collection) allDiningTablesWithMinSeats);
-        bookedDiningTables.forEach(freeTables::remove);
-
-        final List<DiningTable> availableTables = freeTables
-                .stream()
-                .sorted(Comparator.comparingInt(DiningTable::getId))
-                .toList();
+        ));
 
         if (availableTables.isEmpty()) throw new NotFoundException("No free tables was found according to your requirements.");
 
         return availableTables;
     }
 
+    List<DiningTable> getFreeTables(LocalDate date, LocalTime time, Integer duration, Integer seats) {
+        return getFreeTables(search(date, time, duration, seats));
+    }
+
+    /**
+     * Up to {@code limit} free slots for the party within {@code days} days from {@code date}: earliest dates first and,
+     * within a date, start times closest to the preferred {@code time}, each at the table with the fewest seats that
+     * fits. Bookings are read with one range query per window of days, only until enough slots are found: the first
+     * window is the requested date and each next one twice as long, so 90 days take at most 7 queries. Every candidate
+     * is checked in memory.
+     */
+    List<FreeSlot> findNextFreeSlots(LocalDate date, LocalTime time, Integer duration, Integer seats, Integer days, Integer limit) {
+        final int horizon = days == null ? DEFAULT_HORIZON_DAYS : days;
+        if (horizon < 1 || horizon > MAX_HORIZON_DAYS) throw new InvalidInputException(HORIZON_MESSAGE);
+        final int wanted = limit == null ? DEFAULT_FREE_SLOTS : limit;
+        if (wanted < 1 || wanted > MAX_FREE_SLOTS) throw new InvalidInputException(FREE_SLOTS_MESSAGE);
+        reservationService.validateDateTimeDurationAndSeats(search(date, time, duration, seats));
+
+        final List<DiningTable> diningTables = getAllDiningTablesWithMinSeats(seats);
+        final int minutes = duration * 60;
+        final int[] starts = startsClosestTo(AvailabilityIndex.minuteOf(time), AvailabilityIndex.MINUTES_OPEN - minutes);
+        // only the first date can be today, and the preferred time has been checked not to be past
+        final LocalDateTime now = LocalDateTime.now();
+
+        final List<FreeSlot> freeSlots = new ArrayList<>(wanted);
+        for (int windowStart = 0; windowStart < horizon; windowStart = 2 * windowStart + 1) {
+            final LocalDate firstDate = date.plusDays(windowStart);
+            final int windowDays = Math.min(windowStart + 1, horizon - windowStart);
+            final AvailabilityIndex availability = new AvailabilityIndex(firstDate, windowDays, diningTables,
+                    reservationService.findBookedSlotsBetween(firstDate, firstDate.plusDays(windowDays - 1)));
+
+            for (int day = 0; day < windowDays; day++) {
+                final LocalDate current = firstDate.plusDays(day);
+                for (int start : starts) {
+                    final LocalTime startsAt = OPENING_TIME.plusMinutes(start);
+                    if (current.equals(date) && current.atTime(startsAt).isBefore(now)) continue;
+
+                    for (int position = 0; position < diningTables.size(); position++) {
+                        if (availability.isFree(day, position, start, start + minutes)) {
+                            freeSlots.add(new FreeSlot(current, startsAt, duration, diningTables.get(position)));
+                            break;
+                        }
+                    }
+                    if (freeSlots.size() == wanted) return freeSlots;
+                }
+            }
+        }
+
+        if (freeSlots.isEmpty()) throw new NotFoundException("No free tables was found within " + horizon + " days according to your requirements.");
+        return freeSlots;
+    }
+
+    /** Minutes since opening from {@code preferred} outwards in steps, earlier first on ties, up to {@code latest}. */
+    private static int[] startsClosestTo(int preferred, int latest) {
+        final int[] starts = new int[latest / FREE_SLOT_STEP_MINUTES + 1];
+        int count = 0;
+        if (preferred <= latest) starts[count++] = preferred;
+        for (int offset = FREE_SLOT_STEP_MINUTES; offset <= Math.max(preferred, latest - preferred); offset += FREE_SLOT_STEP_MINUTES) {
+            if (preferred - offset >= 0 && preferred - offset <= latest) starts[count++] = preferred - offset;
+            if (preferred + offset <= latest) starts[count++] = preferred + offset;
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static Reservation search(LocalDate date, LocalTime time, Integer duration, Integer seats) {
+        final DiningTable party = new DiningTable();
+        party.setSeats(seats);
+        final Reservation reservation = new Reservation();
+        reservation.setReservationDate(date);
+        reservation.setReservationTime(time);
+        reservation.setDuration(duration);
+        reservation.setDiningTable(party);
+        return reservation;
+    }
+
+    /**
+     * Occupancy of every table on the date in slots of {@code slotMinutes}, read with one range query. Booked time
+     * ranges go straight into per-table slot rows; no reservation entity or DTO is built.
+     */
+    DayOccupancy getDayOccupancy(LocalDate date, Integer slotMinutes) {
+        final int slot = slotMinutes == null ? DEFAULT_SLOT_MINUTES : slotMinutes;
+        if (slot < MIN_SLOT_MINUTES || 60 % slot != 0) throw new InvalidInputException(SLOT_MESSAGE);
+
+        final List<DiningTable> diningTables = catalog().byNumber();
+        if (diningTables.isEmpty()) throw new NotFoundException("There are no dining tables in database.");
+
+        final long slotSeconds = slot * 60L;
+        final int slots = (int) (SECONDS.between(OPENING_TIME, CLOSING_TIME) / slotSeconds);
+        final Map<Integer, char[]> rowsById = new HashMap<>();
+        for (DiningTable diningTable : diningTables) {
+            final char[] row = new char[slots];
+            Arrays.fill(row, '0');
+            rowsById.put(diningTable.getId(), row);
+        }
+
+        final LocalDateTime opensAt = date.atTime(OPENING_TIME);
+        for (BookedSlot booked : reservationService.findBookedSlotsBetween(date, date)) {
+            final char[] row = rowsById.get(booked.diningTableId());
+            if (row == null) continue;
+
+            final long from = Math.floorDiv(SECONDS.between(opensAt, booked.startsAt()), slotSeconds);
+            final long to = Math.ceilDiv(SECONDS.between(opensAt, booked.endsAt()), slotSeconds);
+            Arrays.fill(row, Math.clamp(from, 0, slots), Math.clamp(to, 0, slots), '1');
+        }
+
+        return new DayOccupancy(date, OPENING_TIME, slot, diningTables.stream()
+                .map(diningTable -> new TableOccupancy(diningTable.getId(), diningTable.getNumber(), diningTable.getSeats(),
+                        new String(rowsById.get(diningTable.getId()))))
+                .toList());
+    }
+
+    /** Tables with at least {@code seats} seats, fewest seats first, as an unmodifiable view of the catalog. */
     List<DiningTable> getAllDiningTablesWithMinSeats(Integer seats) {
-        final List<DiningTable> allDiningTablesWithMinSeats = diningTableRepository.allDiningTablesWithMinSeats(seats);
+        final List<DiningTable> allDiningTablesWithMinSeats = catalog().withMinSeats(seats);
         if (allDiningTablesWithMinSeats.isEmpty()) throw new NotFoundException("There are no tables with the required number of seats = " + seats + ".");
 
         return allDiningTablesWithMinSeats;
     }
 
     List<DiningTable> getBookedDiningTables(LocalDate date, LocalTime time, int duration) {
-        return diningTableRepository.BookedTablesByDateTimeAndDuration(date, time, duration);
+        final LocalDateTime startsAt = LocalDateTime.of(date, time);
+        return diningTableRepository.bookedTablesBetween(startsAt, startsAt.plusHours(duration), startsAt.minusHours(MAX_DURATION));
     }
 
     Integer findNumberById(Integer id) {
         if (id == null) return 0;
-        return diningTableRepository.findNumberById(id);
+        final DiningTableCatalog current = catalog();
+        return current.containsId(id) ? current.numberOf(id) : reloadedOnMiss(current, id).numberOf(id);
     }
 
     public boolean existsById(int id) {
-        return diningTableRepository.existsById(id);
+        final DiningTableCatalog current = catalog();
+        return current.containsId(id) || reloadedOnMiss(current, id).containsId(id);
+    }
+
+    public List<DiningTable> findAllById(Collection<Integer> ids) {
+        return diningTableRepository.findAllById(ids);
     }
 
     boolean existsByNumber(int tableNumber) {
-        return diningTableRepository.existsByNumber(tableNumber);
+        return catalog().containsNumber(tableNumber);
+    }
+
+    /** Whether a table other than {@code id} has the number; {@code id} is {@code null} for a new table. */
+    boolean existsByNumberAndIdNot(int tableNumber, Integer id) {
+        return id == null ? existsByNumber(tableNumber) : catalog().containsNumberOfOtherTable(tableNumber, id);
+    }
+
+    private DiningTableCatalog catalog() {
+        final DiningTableCatalog current = catalog.get();
+        return current != null && !current.isOlderThan(catalogExpiry) ? current : reloadCatalog(current);
+    }
+
+    /** Reloads the catalog only when the missed table exists, so an unknown id costs one primary-key lookup, not a load. */
+    private DiningTableCatalog reloadedOnMiss(DiningTableCatalog current, int id) {
+        return diningTableRepository.existsById(id) ? reloadCatalog(current) : current;
+    }
+
+    /** Loads the catalog from the database, unless a write made here has replaced {@code stale} in the meantime. */
+    private DiningTableCatalog reloadCatalog(DiningTableCatalog stale) {
+        final DiningTableCatalog loaded = DiningTableCatalog.of(diningTableRepository.findAll());
+        return catalog.compareAndSet(stale, loaded) ? loaded : catalog.get();
+    }
+
+    private DiningTable cataloged(DiningTable saved) {
+        catalog.updateAndGet(current -> current == null ? null : current.with(saved));
+        return saved;
+    }
+
+    /** Tells listeners, e.g. the {@link FreeTablesCache}, which searches the saved table may have changed. */
+    private DiningTable changed(DiningTable saved, int previousSeats) {
+        eventPublisher.publishEvent(new DiningTableChangedEvent(saved.getId(), Math.max(previousSeats, saved.getSeats())));
+        return saved;
     }
 
     void validateDiningTable(Integer id, DiningTable diningTable) {
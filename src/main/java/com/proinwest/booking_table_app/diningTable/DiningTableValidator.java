@@ -1,45 +1,40 @@
 package com.proinwest.booking_table_app.diningTable;
 
+import com.proinwest.booking_table_app.validation.Check;
+import com.proinwest.booking_table_app.validation.Rules;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import static com.proinwest.booking_table_app.diningTable.DiningTableService.*;
+import static com.proinwest.booking_table_app.validation.Check.between;
+import static com.proinwest.booking_table_app.validation.Check.required;
 
 @Component
 public class DiningTableValidator {
+    public static final Check<Object> SEATS_REQUIRED = required(FIELD_REQUIRED + SEATS_MESSAGE);
+    public static final Check<Integer> SEATS_IN_RANGE = between(MIN_SEATS, MAX_SEATS, SEATS_MESSAGE);
+    private static final Rules<DiningTable> DINING_TABLE_RULES = Rules.<DiningTable>builder()
+            .field("number", DiningTable::getNumber,
+                    required(FIELD_REQUIRED + NUMBER_MESSAGE),
+                    between(MIN_NUMBER, MAX_NUMBER, NUMBER_MESSAGE))
+            .field("seats", DiningTable::getSeats, SEATS_REQUIRED, SEATS_IN_RANGE)
+            .build();
+
     private final DiningTableService diningTableService;
 
     public DiningTableValidator(@Lazy DiningTableService diningTableService) {
         this.diningTableService = diningTableService;
     }
 
+    /**
+     * Field checks run first; only when they pass is the number checked for uniqueness, against the table catalog.
+     */
     Map<String, String> validateDiningTable(Integer id, DiningTable diningTable) {
-        final Map<String, String> errors = new HashMap<>();
-        
-        validateNumber(diningTable.getNumber(), errors, id);
-        validateSeats(diningTable.getSeats(), errors);
-        
-        return errors;
-    }
-
-    private void validateNumber(Integer number, Map<String, String> errors, Integer id) {
-        if (number == null) {
-            errors.put("number", FIELD_REQUIRED + NUMBER_MESSAGE);
-        } else if (!diningTableService.findNumberById(id).equals(number) && diningTableService.existsByNumber(number)) {
-            errors.put("number", "Table number " + number + " already exists. It should be unique.");
-        } else if (number < MIN_NUMBER || number > MAX_NUMBER) {
-            errors.put("number", NUMBER_MESSAGE);
-        }
-    }
+        final Map<String, String> errors = DINING_TABLE_RULES.validate(diningTable);
+        if (!errors.isEmpty() || !diningTableService.existsByNumberAndIdNot(diningTable.getNumber(), id)) return errors;
 
-    public void validateSeats(Integer seats, Map<String, String> errors){
-        if (seats == null) {
-            errors.put("seats", FIELD_REQUIRED + SEATS_MESSAGE);
-        } else if (seats < MIN_SEATS || seats > MAX_SEATS) {
-            errors.put("seats", SEATS_MESSAGE);
-        }
+        return Map.of("number", "Table number " + diningTable.getNumber() + " already exists. It should be unique.");
     }
 }
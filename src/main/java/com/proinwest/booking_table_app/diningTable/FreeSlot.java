@@ -0,0 +1,13 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** A table free for the whole requested duration; the fields match a reservation, so it can be booked as returned. */
+public record FreeSlot(
+        LocalDate reservationDate,
+        LocalTime reservationTime,
+        Integer duration,
+        DiningTable diningTable
+) {
+}
@@ -0,0 +1,133 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.proinwest.booking_table_app.reservation.ReservationsChangedEvent;
+import com.proinwest.booking_table_app.singleFlight.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Results of free table searches, bounded by size with Caffeine's W-TinyLFU eviction. Once committed, every write
+ * made on this instance removes exactly the searches it can change: a booking those on its date whose time overlaps
+ * it, a dining table change those asking for no more seats than the table has or had. Writes made by other instances
+ * sharing the database are seen once entries expire; bookings are still checked by the
+ * {@link com.proinwest.booking_table_app.reservation.BookingGuard}, so a stale answer costs a rejected booking at most.
+ * Concurrent misses of the same search share one lookup.
+ */
+@Component
+public class FreeTablesCache {
+    private final Cache<FreeTablesQuery, List<DiningTable>> cache;
+    /** Searches running now, marked stale by writes that affect them so they do not keep their result. */
+    private final Set<Search> searches = ConcurrentHashMap.newKeySet();
+    private final SingleFlight<FreeTablesQuery, List<DiningTable>> searchFlight;
+    private final LongAdder invalidations = new LongAdder();
+    private final boolean enabled;
+
+    public FreeTablesCache(@Value("${free-tables.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${free-tables.cache.expire-after-write:1m}") Duration expireAfterWrite,
+                           @Value("${single-flight.max-wait:2s}") Duration singleFlightMaxWait)
+    {
+        this.searchFlight = new SingleFlight<>(singleFlightMaxWait);
+        this.enabled = maximumSize > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                // cleans up on the calling thread instead of handing every invalidation to the common pool
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * The cached result of the query, or the result of {@code search}, cached unless a write affected it meanwhile.
+     * A maximum size of 0 turns the cache off.
+     */
+    List<DiningTable> get(FreeTablesQuery query, Supplier<List<DiningTable>> search) {
+        if (!enabled) return searchFlight.run(query, search);
+
+        final List<DiningTable> cached = cache.getIfPresent(query);
+        if (cached != null) return cached;
+
+        return searchFlight.run(query, () -> load(query, search));
+    }
+
+    private List<DiningTable> load(FreeTablesQuery query, Supplier<List<DiningTable>> search) {
+        final Search running = new Search(query);
+        searches.add(running);
+        try {
+            final List<DiningTable> found = List.copyOf(search.get());
+            cache.put(query, found);
+            if (running.stale) cache.invalidate(query);
+            return found;
+        } finally {
+            searches.remove(running);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationsChanged(ReservationsChangedEvent event) {
+        invalidate(query -> event.slots().stream().anyMatch(query::overlaps));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiningTableChanged(DiningTableChangedEvent event) {
+        invalidate(query -> query.minSeats() <= event.seats());
+    }
+
+    FreeTablesCacheStatistics statistics() {
+        final CacheStats stats = cache.stats();
+        final long requests = stats.requestCount();
+
+        return new FreeTablesCacheStatistics(
+                stats.hitCount(),
+                stats.missCount(),
+                requests == 0 ? 0 : (double) stats.hitCount() / requests,
+                requests == 0 ? 0 : (double) stats.missCount() / requests,
+                invalidations.sum(),
+                stats.evictionCount(),
+                cache.estimatedSize(),
+                searchFlight.statistics().shared()
+        );
+    }
+
+    /**
+     * Stops new callers from joining the affected running searches and marks those before dropping the cached
+     * ones: a search either is marked and drops its own result, or has put it by now, or started after the write
+     * was committed.
+     */
+    private void invalidate(Predicate<FreeTablesQuery> affected) {
+        searchFlight.forget(affected);
+        searches.forEach(running -> {
+            if (affected.test(running.query)) running.stale = true;
+        });
+        final List<FreeTablesQuery> affectedQueries = cache.asMap().keySet().stream()
+                .filter(affected)
+                .toList();
+        cache.invalidateAll(affectedQueries);
+        invalidations.add(affectedQueries.size());
+    }
+
+    private static final class Search {
+        private final FreeTablesQuery query;
+        private volatile boolean stale;
+
+        private Search(FreeTablesQuery query) {
+            this.query = query;
+        }
+    }
+}
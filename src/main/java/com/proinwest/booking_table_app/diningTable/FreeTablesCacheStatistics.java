@@ -0,0 +1,18 @@
+package com.proinwest.booking_table_app.diningTable;
+
+/**
+ * Free table cache counters since startup. {@code invalidations} counts entries removed by reservation and
+ * dining table writes; {@code evictions} counts entries dropped for size or age; {@code coalesced} counts misses
+ * served by a lookup another caller was already running.
+ */
+public record FreeTablesCacheStatistics(
+        long hits,
+        long misses,
+        double hitRate,
+        double missRate,
+        long invalidations,
+        long evictions,
+        long size,
+        long coalesced
+) {
+}
@@ -0,0 +1,25 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.reservation.BookedSlot;
+import com.proinwest.booking_table_app.reservation.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/** Free table search for a time slot and party size; the key of {@link FreeTablesCache}. */
+record FreeTablesQuery(LocalDate date, LocalTime time, int duration, int minSeats) {
+
+    static FreeTablesQuery of(Reservation reservation) {
+        return new FreeTablesQuery(reservation.getReservationDate(), reservation.getReservationTime(),
+                reservation.getDuration(), reservation.getDiningTable().getSeats());
+    }
+
+    /** Whether a booking of the slot can change the answer, i.e. whether it overlaps the searched time. */
+    boolean overlaps(BookedSlot slot) {
+        if (!date.equals(slot.date())) return false;
+
+        final LocalDateTime startsAt = LocalDateTime.of(date, time);
+        return startsAt.isBefore(slot.endsAt()) && slot.startsAt().isBefore(startsAt.plusHours(duration));
+    }
+}
@@ -0,0 +1,13 @@
+package com.proinwest.booking_table_app.diningTable;
+
+/**
+ * One row of a {@link DayOccupancy}: {@code occupied} has one character per slot, {@code 1} when a reservation
+ * covers any part of it and {@code 0} when the table is free for the whole slot.
+ */
+public record TableOccupancy(
+        Integer id,
+        Integer number,
+        Integer seats,
+        String occupied
+) {
+}
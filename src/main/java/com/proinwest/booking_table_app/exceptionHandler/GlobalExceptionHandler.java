@@ -1,6 +1,7 @@
 package com.proinwest.booking_table_app.exceptionHandler;
 
 import com.proinwest.booking_table_app.exceptions.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,10 +13,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    /** Field errors of the unique constraints a check before the write may miss, e.g. for a value taken on another node. */
+    private static final Map<String, Map<String, String>> UNIQUE_FIELD_ERRORS = Map.of(
+            "uk_user_login", Map.of("login", "Login already exists. It should be unique."),
+            "uk_user_email", Map.of("email", "Email address already exists. It should be unique."));
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleMethodArgumentNotValidException(MethodArgumentNotValidException exception) {
@@ -53,6 +59,17 @@ public class GlobalExceptionHandler {
                 exception.getMessage(), now);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
+        final String cause = String.valueOf(exception.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, Map<String, String>> fieldErrors : UNIQUE_FIELD_ERRORS.entrySet()) {
+            if (cause.contains(fieldErrors.getKey())) return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(fieldErrors.getValue());
+        }
+        throw exception;
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<Map<String, String>> handleValidationException(ValidationException exception) {
         return ResponseEntity
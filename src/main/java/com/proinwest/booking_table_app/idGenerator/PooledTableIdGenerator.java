@@ -0,0 +1,34 @@
+package com.proinwest.booking_table_app.idGenerator;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Hands out ids in blocks from one {@code id_generator} row per entity table, so an insert needs no generated-key
+ * round trip and Hibernate can batch it. The block size is set by {@code spring.jpa.properties.booking.id.allocation_size}.
+ * The row holds the last id reserved so far and blocks start right above it ("pooled-lo"), so changing the block size
+ * never reissues an id.
+ */
+public class PooledTableIdGenerator extends TableGenerator {
+    public static final String ALLOCATION_SIZE = "booking.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+    static final String TABLE = "id_generator";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        final int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+        parameters.setProperty(TABLE_PARAM, TABLE);
+        parameters.setProperty(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
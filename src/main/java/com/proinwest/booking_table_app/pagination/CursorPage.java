@@ -0,0 +1,29 @@
+package com.proinwest.booking_table_app.pagination;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor
+) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+    static final String SIZE_MESSAGE = "Page size should be between 1 and " + MAX_SIZE + ".";
+
+    public static Limit limit(Integer size) {
+        if (size == null) return Limit.of(DEFAULT_SIZE);
+        if (size < 1 || size > MAX_SIZE) throw new InvalidInputException(SIZE_MESSAGE);
+        return Limit.of(size);
+    }
+
+    public static <E, T> CursorPage<T> of(Window<E> window, Function<? super E, T> mapper, KeysetCursor keysetCursor) {
+        return new CursorPage<>(window.stream().<T>map(mapper).toList(), keysetCursor.next(window));
+    }
+}
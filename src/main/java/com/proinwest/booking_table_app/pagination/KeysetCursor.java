@@ -0,0 +1,68 @@
+package com.proinwest.booking_table_app.pagination;
+
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ascending keyset ordering of a listing and the opaque token that resumes it after the last row of a page.
+ * The token is the URL-safe Base64 of the sort key values of that row, so the keys must not be free text.
+ */
+public final class KeysetCursor {
+    static final String INVALID_CURSOR = "Cursor is invalid or expired.";
+    private static final String SEPARATOR = "\n";
+
+    private final List<Key> keys;
+    private final Sort sort;
+
+    public KeysetCursor(Key... keys) {
+        this.keys = List.of(keys);
+        this.sort = Sort.by(this.keys.stream().map(Key::property).toArray(String[]::new));
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    /** Position after the row the cursor was issued for, or the start of the listing when there is no cursor. */
+    public KeysetScrollPosition position(String cursor) {
+        if (cursor == null) return ScrollPosition.keyset();
+
+        try {
+            final String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (values.length != keys.size()) throw new InvalidInputException(INVALID_CURSOR);
+
+            final Map<String, Object> position = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                position.put(keys.get(i).property(), keys.get(i).parser().apply(values[i]));
+            }
+            return ScrollPosition.forward(position);
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            throw new InvalidInputException(INVALID_CURSOR);
+        }
+    }
+
+    /** Cursor of the page following the window, or {@code null} when the window is the last page. */
+    public String next(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) return null;
+
+        final Map<String, Object> position = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+        final String values = String.join(SEPARATOR, keys.stream()
+                .map(key -> String.valueOf(position.get(key.property())))
+                .toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(values.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Key(String property, Function<String, ?> parser) {
+    }
+}
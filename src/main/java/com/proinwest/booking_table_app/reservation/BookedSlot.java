@@ -0,0 +1,27 @@
+package com.proinwest.booking_table_app.reservation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Time range occupied at a dining table, without the reservation's user and table entities.
+ */
+public record BookedSlot(Integer diningTableId, LocalDate date, LocalDateTime startsAt, LocalDateTime endsAt) {
+
+    /** Slot of the time range the reservation was stored with; its date, time and duration may have changed since. */
+    static BookedSlot of(Reservation reservation) {
+        return new BookedSlot(reservation.getDiningTable().getId(), reservation.getStartsAt().toLocalDate(),
+                reservation.getStartsAt(), reservation.getEndsAt());
+    }
+
+    TableDate tableDate() {
+        return new TableDate(diningTableId, date);
+    }
+
+    boolean overlaps(BookedSlot other) {
+        return startsAt.isBefore(other.endsAt) && other.startsAt.isBefore(endsAt);
+    }
+
+    record TableDate(Integer diningTableId, LocalDate date) {
+    }
+}
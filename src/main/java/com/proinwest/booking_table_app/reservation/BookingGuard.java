@@ -0,0 +1,34 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps concurrent bookings of the same dining table from overlapping.
+ * Selected with the {@code booking.mode} property: {@code local} (default) for a single instance,
+ * {@code database} when several instances share one database.
+ */
+public interface BookingGuard {
+
+    /** Runs the conflict check and save of a booking so that no other booking of the same table and day interleaves. */
+    <T> T book(Reservation reservation, Supplier<T> booking);
+
+    /** Like {@link #book}, but guards the tables and days of all given reservations for the duration of the booking. */
+    <T> T bookAll(Collection<Reservation> reservations, Supplier<T> booking);
+
+    /** Whether the table of the reservation is free at its time, ignoring the reservation itself. */
+    boolean isAvailable(Reservation reservation);
+
+    List<DiningTable> freeTables(List<DiningTable> diningTables, LocalDate date, LocalTime time, int duration);
+
+    /** Called with every saved reservation, inside the booking, for guards that keep their own copy of the bookings. */
+    void saved(Reservation reservation);
+
+    /** Called with the id of every deleted reservation, like {@link #saved}. */
+    void deleted(Long id);
+}
@@ -0,0 +1,148 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.exceptions.TableNotAvailableException;
+import org.hibernate.TransactionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.proinwest.booking_table_app.reservation.ReservationService.MAX_DURATION;
+
+/**
+ * Cluster-safe guard for several instances sharing one database. Every booking runs in a transaction that first takes
+ * a {@code SELECT ... FOR UPDATE} on its {@code dining_table} row, then checks for conflicts in the database and saves.
+ * The transaction timeout bounds the lock wait; lock timeouts and deadlocks are retried with exponential backoff.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.mode", havingValue = "database")
+public class DatabaseBookingGuard implements BookingGuard {
+
+    private final TransactionTemplate transactionTemplate;
+    private final DiningTableRepository diningTableRepository;
+    private final ReservationRepository reservationRepository;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public DatabaseBookingGuard(PlatformTransactionManager transactionManager,
+                                DiningTableRepository diningTableRepository,
+                                ReservationRepository reservationRepository,
+                                @Value("${booking.lock-timeout:2s}") Duration lockTimeout,
+                                @Value("${booking.max-attempts:5}") int maxAttempts,
+                                @Value("${booking.retry-backoff:50ms}") Duration retryBackoff)
+    {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, lockTimeout.toSeconds()));
+        this.diningTableRepository = diningTableRepository;
+        this.reservationRepository = reservationRepository;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Override
+    public <T> T book(Reservation reservation, Supplier<T> booking) {
+        final Integer diningTableId = reservation.getDiningTable().getId();
+
+        return withRetries("Dining table with id " + diningTableId + " is busy. Please try again.", () -> {
+            if (diningTableId != null) diningTableRepository.findAndLockById(diningTableId);
+            return booking.get();
+        });
+    }
+
+    @Override
+    public <T> T bookAll(Collection<Reservation> reservations, Supplier<T> booking) {
+        final Set<Integer> diningTableIds = reservations.stream()
+                .map(Reservation::getDiningTable)
+                .filter(Objects::nonNull)
+                .map(DiningTable::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return withRetries("Dining tables are busy. Please try again.", () -> {
+            if (!diningTableIds.isEmpty()) diningTableRepository.findAndLockAllById(diningTableIds);
+            return booking.get();
+        });
+    }
+
+    private <T> T withRetries(String busyMessage, Supplier<T> booking) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> booking.get());
+            } catch (RuntimeException e) {
+                if (!isBusy(e)) throw e;
+                if (attempt >= maxAttempts) throw new TableNotAvailableException(busyMessage);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private static boolean isBusy(RuntimeException e) {
+        return e instanceof PessimisticLockingFailureException
+                || e instanceof QueryTimeoutException
+                || e instanceof TransactionTimedOutException
+                // a deadline that passes between two statements is reported by Hibernate itself, not by the driver
+                || e instanceof JpaSystemException && e.getCause() instanceof TransactionException;
+    }
+
+    @Override
+    public boolean isAvailable(Reservation reservation) {
+        final LocalDateTime startsAt = LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime());
+
+        return reservationRepository.findAllOverlapping(reservation.getDiningTable().getId(),
+                        startsAt, startsAt.plusHours(reservation.getDuration()), startsAt.minusHours(MAX_DURATION))
+                .stream()
+                .allMatch(overlapping -> overlapping.getId().equals(reservation.getId()));
+    }
+
+    @Override
+    public List<DiningTable> freeTables(List<DiningTable> diningTables, LocalDate date, LocalTime time, int duration) {
+        final LocalDateTime startsAt = LocalDateTime.of(date, time);
+        final Set<Integer> bookedTableIds = diningTableRepository
+                .bookedTablesBetween(startsAt, startsAt.plusHours(duration), startsAt.minusHours(MAX_DURATION))
+                .stream()
+                .map(DiningTable::getId)
+                .collect(Collectors.toSet());
+
+        return diningTables.stream()
+                .filter(diningTable -> !bookedTableIds.contains(diningTable.getId()))
+                .toList();
+    }
+
+    /** Every check reads the database, so there is no copy of the bookings to update. */
+    @Override
+    public void saved(Reservation reservation) {
+    }
+
+    @Override
+    public void deleted(Long id) {
+    }
+
+    private void backOff(int attempt) {
+        final long delay = retryBackoff.toMillis() << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TableNotAvailableException("Booking was interrupted. Please try again.");
+        }
+    }
+}
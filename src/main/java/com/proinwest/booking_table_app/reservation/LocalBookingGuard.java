@@ -0,0 +1,57 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Single-instance guard: bookings are serialized by {@link TableDayLocks} and checked against the in-memory schedule.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.mode", havingValue = "local", matchIfMissing = true)
+public class LocalBookingGuard implements BookingGuard {
+
+    private final TableDayLocks tableDayLocks;
+    private final ReservationSchedule reservationSchedule;
+
+    public LocalBookingGuard(TableDayLocks tableDayLocks, ReservationSchedule reservationSchedule) {
+        this.tableDayLocks = tableDayLocks;
+        this.reservationSchedule = reservationSchedule;
+    }
+
+    @Override
+    public <T> T book(Reservation reservation, Supplier<T> booking) {
+        return tableDayLocks.lock(reservation.getDiningTable().getId(), reservation.getReservationDate(), booking);
+    }
+
+    @Override
+    public <T> T bookAll(Collection<Reservation> reservations, Supplier<T> booking) {
+        return tableDayLocks.lockAll(reservations, booking);
+    }
+
+    @Override
+    public boolean isAvailable(Reservation reservation) {
+        return reservationSchedule.isAvailable(reservation);
+    }
+
+    @Override
+    public List<DiningTable> freeTables(List<DiningTable> diningTables, LocalDate date, LocalTime time, int duration) {
+        return reservationSchedule.freeTables(diningTables, date, time, duration);
+    }
+
+    @Override
+    public void saved(Reservation reservation) {
+        reservationSchedule.put(reservation);
+    }
+
+    @Override
+    public void deleted(Long id) {
+        reservationSchedule.remove(id);
+    }
+}
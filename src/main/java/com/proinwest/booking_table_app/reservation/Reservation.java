@@ -1,6 +1,8 @@
 package com.proinwest.booking_table_app.reservation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.idGenerator.PooledId;
 import com.proinwest.booking_table_app.user.User;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -8,21 +10,33 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_reservation_table_starts_at_id", columnList = "table_id, starts_at, id, ends_at"),
+        @Index(name = "idx_reservation_starts_at_id", columnList = "starts_at, id, ends_at, table_id"),
+        @Index(name = "idx_reservation_user_starts_at", columnList = "user_id, starts_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     private LocalDate reservationDate;
     private LocalTime reservationTime;
     private Integer duration;
 
+    @JsonIgnore
+    private LocalDateTime startsAt;
+
+    @JsonIgnore
+    private LocalDateTime endsAt;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
@@ -0,0 +1,21 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReservationBatchResult(
+        int index,
+        boolean created,
+        ReservationDTO reservation,
+        Map<String, String> errors
+) {
+    static ReservationBatchResult created(int index, ReservationDTO reservation) {
+        return new ReservationBatchResult(index, true, reservation, null);
+    }
+
+    static ReservationBatchResult rejected(int index, Map<String, String> errors) {
+        return new ReservationBatchResult(index, false, null, errors);
+    }
+}
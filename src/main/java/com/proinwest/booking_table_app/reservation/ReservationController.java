@@ -1,9 +1,15 @@
 package com.proinwest.booking_table_app.reservation;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
-import com.proinwest.booking_table_app.exceptions.NotFoundException;
+import com.proinwest.booking_table_app.conditionalGet.ConditionalGet;
+import com.proinwest.booking_table_app.conditionalGet.ContentVersions;
+import com.proinwest.booking_table_app.pagination.CursorPage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -14,17 +20,27 @@ import java.util.List;
 public class ReservationController {
     @JsonManagedReference
     private final ReservationService reservationService;
+    private final ReservationExporter reservationExporter;
+    private final ContentVersions contentVersions;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, ReservationExporter reservationExporter, ContentVersions contentVersions) {
         this.reservationService = reservationService;
+        this.reservationExporter = reservationExporter;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping()
-    public ResponseEntity<List<ReservationDTO>> getAllReservation() {
-        List<ReservationDTO> allReservations = reservationService.getAllReservation();
+    public ResponseEntity<CursorPage<ReservationDTO>> getAllReservation(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allReservations = reservationService.getAllReservation(cursor, size);
         return ResponseEntity.ok(allReservations);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportReservations(@RequestParam(required = false) LocalDate from, @RequestParam(required = false) LocalDate to) {
+        StreamingResponseBody export = reservationExporter.export(from, to);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(export);
+    }
+
     @GetMapping("{id}")
     public ResponseEntity<ReservationDTO> getReservation(@PathVariable Long id) {
         return ResponseEntity.ok(reservationService.getReservation(id));
@@ -37,6 +53,12 @@ public class ReservationController {
                 .body(savedReservation);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ReservationBatchResult>> addReservations(@RequestBody List<Reservation> reservations) {
+        List<ReservationBatchResult> results = reservationService.addReservations(reservations);
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(results);
+    }
+
     @PutMapping("{id}")
     public ResponseEntity<ReservationDTO> updateReservation(@PathVariable Long id, @RequestBody Reservation reservation) {
         ReservationDTO updatedReservation = reservationService.updateReservation(id, reservation);
@@ -55,64 +77,69 @@ public class ReservationController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ReservationDTO>> searchReservations(ReservationSearchCriteria criteria, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> foundReservations = reservationService.search(criteria, cursor, size);
+        return ResponseEntity.ok(foundReservations);
+    }
+
     @GetMapping("/search/date/{date}")
-    public ResponseEntity<List<ReservationDTO>> findAllByReservationDate(@PathVariable LocalDate date) {
-        List<ReservationDTO> allByDate = reservationService.findAllByReservationDate(date);
-        return ResponseEntity.ok(allByDate);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByReservationDate(@PathVariable LocalDate date, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, WebRequest request) {
+        return ConditionalGet.ifNoneMatch(request, contentVersions.reservationsETag(date), ConditionalGet.PRIVATE,
+                () -> reservationService.findAllByReservationDate(date, cursor, size));
     }
 
     @GetMapping("/search/user/{id}")
-    public ResponseEntity<List<ReservationDTO>> findAllByUserId(@PathVariable Long id) {
-        List<ReservationDTO> allByUserId = reservationService.findAllByUserId(id);
-        if (allByUserId.isEmpty()) throw new NotFoundException("There is no reservation with user's id " + id + ".");
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByUserId(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByUserId = reservationService.findAllByUserId(id, cursor, size);
         return ResponseEntity.ok(allByUserId);
     }
 
     @GetMapping("/search/login/{login}")
-    public ResponseEntity<List<ReservationDTO>> findAllByUserLogin(@PathVariable String login) {
-        List<ReservationDTO> allByUserLogin = reservationService.findAllByUserLogin(login);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByUserLogin(@PathVariable String login, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByUserLogin = reservationService.findAllByUserLogin(login, cursor, size);
         return ResponseEntity.ok(allByUserLogin);
     }
 
     @GetMapping("/search/firstName/{firstName}")
-    public ResponseEntity<List<ReservationDTO>> findAllByUserFirstName(@PathVariable String firstName) {
-        List<ReservationDTO> allByUserName = reservationService.findAllByUserFirstName(firstName);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByUserFirstName(@PathVariable String firstName, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByUserName = reservationService.findAllByUserFirstName(firstName, cursor, size);
         return ResponseEntity.ok(allByUserName);
     }
 
     @GetMapping("/search/lastname/{lastName}")
-    public ResponseEntity<List<ReservationDTO>> findAllByUserLastName(@PathVariable String lastName) {
-        List<ReservationDTO> allByUserLastName = reservationService.findAllByUserLastName(lastName);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByUserLastName(@PathVariable String lastName, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByUserLastName = reservationService.findAllByUserLastName(lastName, cursor, size);
         return ResponseEntity.ok(allByUserLastName);
     }
 
     @GetMapping("/search/email/{email}")
-    public ResponseEntity<List<ReservationDTO>> findAllByUserEmail(@PathVariable String email) {
-        List<ReservationDTO> allByUserEmail = reservationService.findAllByUserEmail(email);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByUserEmail(@PathVariable String email, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByUserEmail = reservationService.findAllByUserEmail(email, cursor, size);
         return ResponseEntity.ok(allByUserEmail);
     }
 
     @GetMapping("/search/phonenumber/{phoneNumber}")
-    public ResponseEntity<List<ReservationDTO>> findAllByUserPhoneNumber(@PathVariable String phoneNumber) {
-        List<ReservationDTO> allByUserPhoneNumber = reservationService.findAllByUserPhoneNumber(phoneNumber);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByUserPhoneNumber(@PathVariable String phoneNumber, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByUserPhoneNumber = reservationService.findAllByUserPhoneNumber(phoneNumber, cursor, size);
         return ResponseEntity.ok(allByUserPhoneNumber);
     }
 
     @GetMapping("/search/table/{id}")
-    public ResponseEntity<List<ReservationDTO>> findAllByTableId(@PathVariable Integer id) {
-        List<ReservationDTO> allByTableId = reservationService.findAllByTableId(id);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByTableId(@PathVariable Integer id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByTableId = reservationService.findAllByTableId(id, cursor, size);
         return ResponseEntity.ok(allByTableId);
     }
 
     @GetMapping("/search/date/{date}/id/{id}")
-    public ResponseEntity<List<ReservationDTO>> findAllByReservationDateAndDiningTableId(@PathVariable LocalDate date, @PathVariable Integer id) {
-        List<ReservationDTO> allByDateAndId = reservationService.findAllByDateAndTableId(date, id);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByReservationDateAndDiningTableId(@PathVariable LocalDate date, @PathVariable Integer id, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByDateAndId = reservationService.findAllByDateAndTableId(date, id, cursor, size);
         return ResponseEntity.ok(allByDateAndId);
     }
 
     @GetMapping("/search/date/{date}/time/{time}")
-    public ResponseEntity<List<ReservationDTO>> findAllByDateAndTime(@PathVariable LocalDate date, @PathVariable LocalTime time) {
-        List<ReservationDTO> allByDateAndTime = reservationService.findAllByDateAndTime(date, time);
+    public ResponseEntity<CursorPage<ReservationDTO>> findAllByDateAndTime(@PathVariable LocalDate date, @PathVariable LocalTime time, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<ReservationDTO> allByDateAndTime = reservationService.findAllByDateAndTime(date, time, cursor, size);
         return ResponseEntity.ok(allByDateAndTime);
     }
 }
@@ -7,19 +7,21 @@ import java.util.function.Function;
 
 @Service
 public class ReservationDTOMapper implements Function<Reservation, ReservationDTO> {
+    private final UserDTOMapper userDTOMapper;
+
+    public ReservationDTOMapper(UserDTOMapper userDTOMapper) {
+        this.userDTOMapper = userDTOMapper;
+    }
+
     @Override
     public ReservationDTO apply(Reservation reservation) {
-        UserDTOMapper mapper = new UserDTOMapper();
         return new ReservationDTO(
                 reservation.getId(),
                 reservation.getReservationDate(),
                 reservation.getReservationTime(),
                 reservation.getDuration(),
-                mapper.apply(reservation.getUser()),
+                userDTOMapper.apply(reservation.getUser()),
                 reservation.getDiningTable()
         );
     }
-
-
-
 }
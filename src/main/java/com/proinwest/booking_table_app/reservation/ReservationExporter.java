@@ -0,0 +1,83 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes reservations as NDJSON, one object per line, straight from a database cursor.
+ * Rows are fetched {@value ReservationRepository#EXPORT_FETCH_SIZE} at a time and the persistence context is cleared
+ * after each fetch, so heap use does not grow with the number of exported rows.
+ */
+@Component
+public class ReservationExporter {
+    /** Bounds of MySQL's DATETIME, standing in for an omitted date so the range stays a plain index range. */
+    static final LocalDateTime EARLIEST_STARTS_AT = LocalDateTime.of(1000, 1, 1, 0, 0);
+    static final LocalDateTime LATEST_STARTS_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    static final String DATE_RANGE_MESSAGE = "Export start date should not be after its end date.";
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationDTOMapper reservationDTOMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReservationExporter(ReservationRepository reservationRepository,
+                               ReservationDTOMapper reservationDTOMapper,
+                               ObjectMapper objectMapper,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager)
+    {
+        this.reservationRepository = reservationRepository;
+        this.reservationDTOMapper = reservationDTOMapper;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /** Reservations starting on or after {@code from} and on or before {@code to}; either bound may be omitted. */
+    StreamingResponseBody export(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) throw new InvalidInputException(DATE_RANGE_MESSAGE);
+
+        final LocalDateTime startsFrom = from == null ? EARLIEST_STARTS_AT : from.atStartOfDay();
+        final LocalDateTime startsBefore = to == null ? LATEST_STARTS_AT : to.plusDays(1).atStartOfDay();
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> write(startsFrom, startsBefore, outputStream));
+    }
+
+    void write(LocalDateTime startsFrom, LocalDateTime startsBefore, OutputStream outputStream) {
+        try (Stream<Reservation> reservations = reservationRepository.streamAllForExport(startsFrom, startsBefore);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream))
+        {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            final Iterator<Reservation> iterator = reservations.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, reservationDTOMapper.apply(iterator.next()));
+                generator.writeRaw('\n');
+                if (++written % ReservationRepository.EXPORT_FETCH_SIZE == 0) entityManager.clear();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
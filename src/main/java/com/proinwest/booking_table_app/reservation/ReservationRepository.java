@@ -1,22 +1,99 @@
 package com.proinwest.booking_table_app.reservation;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
+    int EXPORT_FETCH_SIZE = 1_000;
 
-    List<Reservation> findAllByReservationDate(LocalDate date);
+    @Override
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    List<Reservation> findAll();
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByStartsAtGreaterThanEqualAndStartsAtLessThan(LocalDateTime from, LocalDateTime to,
+                                                                             ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
     List<Reservation> findAllByDiningTableId(Integer id);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByDiningTableId(Integer id, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
     List<Reservation> findAllByUserId(Long id);
-    List<Reservation> findAllByUserLoginContainingIgnoreCase(String login);
-    List<Reservation> findAllByUserFirstNameContainingIgnoreCase(String firstName);
-    List<Reservation> findAllByUserLastNameContainingIgnoreCase(String lastName);
-    List<Reservation> findAllByUserEmailContainingIgnoreCase(String email);
-    List<Reservation> findAllByUserPhoneNumberContaining(String phoneNumber);
-    List<Reservation> findAllByReservationDateAndDiningTableId(LocalDate date, Integer id);
-    List<Reservation> findAllByReservationDateAndReservationTime(LocalDate date, LocalTime time);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserId(Long id, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserIdIn(Collection<Long> userIds, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserLoginContainingIgnoreCase(String login, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserFirstNameContainingIgnoreCase(String firstName, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserLastNameContainingIgnoreCase(String lastName, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserEmailContainingIgnoreCase(String email, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByUserPhoneDigitsReversedStartingWith(String phoneDigitsReversed, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByDiningTableIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(Integer id, LocalDateTime from, LocalDateTime to,
+                                                                                             ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    Window<Reservation> findAllByStartsAt(LocalDateTime startsAt, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    List<Reservation> findAllByStartsAtGreaterThanEqual(LocalDateTime startsAt);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    @Query("SELECT r FROM Reservation r " +
+            "WHERE r.diningTable.id = :diningTableId " +
+            "AND r.startsAt > :earliestStartsAt AND r.startsAt < :endsAt AND r.endsAt > :startsAt")
+    List<Reservation> findAllOverlapping(Integer diningTableId, LocalDateTime startsAt, LocalDateTime endsAt, LocalDateTime earliestStartsAt);
+
+    @EntityGraph(attributePaths = {"user", "diningTable"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r " +
+            "WHERE r.startsAt >= :startsFrom AND r.startsAt < :startsBefore " +
+            "ORDER BY r.startsAt, r.id")
+    Stream<Reservation> streamAllForExport(LocalDateTime startsFrom, LocalDateTime startsBefore);
+
+    @Query("SELECT new com.proinwest.booking_table_app.reservation.BookedSlot(r.diningTable.id, r.reservationDate, r.startsAt, r.endsAt) " +
+            "FROM Reservation r WHERE r.diningTable.id IN :diningTableIds " +
+            "AND r.startsAt >= :startsFrom AND r.startsAt < :startsBefore AND r.reservationDate IN :dates")
+    List<BookedSlot> findBookedSlots(Collection<LocalDate> dates, Collection<Integer> diningTableIds, LocalDateTime startsFrom, LocalDateTime startsBefore);
+
+    @Query("SELECT new com.proinwest.booking_table_app.reservation.BookedSlot(r.diningTable.id, r.reservationDate, r.startsAt, r.endsAt) " +
+            "FROM Reservation r WHERE r.startsAt >= :startsFrom AND r.startsAt < :startsBefore")
+    List<BookedSlot> findBookedSlotsStartingBetween(LocalDateTime startsFrom, LocalDateTime startsBefore);
 }
@@ -0,0 +1,205 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static com.proinwest.booking_table_app.reservation.ReservationService.*;
+
+/**
+ * In-memory index of upcoming reservations, grouped by date and dining table.
+ * Every table-day keeps its bookings sorted by start time, so an overlap query only has to look
+ * at bookings starting less than {@link ReservationService#MAX_DURATION} hours before the requested end.
+ * It also keeps a bitmask with one bit per minute of opening hours, so free-table lookups are a few word ANDs.
+ * Table-days left without bookings are dropped, and so are past dates, on the first write of each day.
+ * Only {@link LocalBookingGuard} reads it, so it exists in {@code booking.mode=local} only and is written through that guard.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.mode", havingValue = "local", matchIfMissing = true)
+public class ReservationSchedule {
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int OPENING_MINUTE = OPENING_TIME.toSecondOfDay() / SECONDS_PER_MINUTE;
+    private static final int MINUTES_OPEN = CLOSING_TIME.toSecondOfDay() / SECONDS_PER_MINUTE - OPENING_MINUTE;
+    private static final int OCCUPANCY_WORDS = (MINUTES_OPEN + Long.SIZE - 1) / Long.SIZE;
+    private static final Comparator<Booking> BY_START = Comparator
+            .comparingInt(Booking::start)
+            .thenComparingLong(Booking::id);
+
+    private final ReservationRepository reservationRepository;
+    private final Map<LocalDate, Map<Integer, TableDay>> tableDaysByDate = new ConcurrentHashMap<>();
+    private final Map<Long, Placement> placementsById = new ConcurrentHashMap<>();
+    private volatile LocalDate evictedBefore = LocalDate.MIN;
+
+    public ReservationSchedule(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        tableDaysByDate.clear();
+        placementsById.clear();
+        reservationRepository.findAllByStartsAtGreaterThanEqual(LocalDate.now().atStartOfDay())
+                .forEach(this::put);
+    }
+
+    public boolean isAvailable(Reservation reservation) {
+        final TableDay tableDay = tableDay(reservation.getReservationDate(), reservation.getDiningTable().getId());
+        if (tableDay == null) return true;
+
+        final int start = startOf(reservation.getReservationTime());
+        final int end = endOf(start, reservation.getDuration());
+        final Booking from = new Booking(Long.MIN_VALUE, start - MAX_DURATION * SECONDS_PER_HOUR, start);
+        final Booking to = new Booking(Long.MIN_VALUE, end, end);
+
+        for (Booking booking : tableDay.bookings.subSet(from, true, to, false)) {
+            if (!booking.id().equals(reservation.getId()) && booking.end() > start) return false;
+        }
+        return true;
+    }
+
+    public boolean isFree(Integer diningTableId, LocalDate date, LocalTime time, int duration) {
+        return isFree(tableDay(date, diningTableId), time, duration);
+    }
+
+    public List<DiningTable> freeTables(List<DiningTable> diningTables, LocalDate date, LocalTime time, int duration) {
+        final Map<Integer, TableDay> tableDays = tableDaysByDate.getOrDefault(date, Map.of());
+        final List<DiningTable> freeTables = new ArrayList<>(diningTables.size());
+
+        for (DiningTable diningTable : diningTables) {
+            if (isFree(tableDays.get(diningTable.getId()), time, duration)) freeTables.add(diningTable);
+        }
+        return freeTables;
+    }
+
+    private static boolean isFree(TableDay tableDay, LocalTime time, int duration) {
+        if (tableDay == null) return true;
+
+        final long[] occupancy = tableDay.occupancy;
+        final int start = startOf(time);
+        final int fromMinute = minuteOf(start, false);
+        final int toMinute = minuteOf(endOf(start, duration), true);
+
+        for (int minute = fromMinute; minute < toMinute; minute = (minute / Long.SIZE + 1) * Long.SIZE) {
+            final int word = minute / Long.SIZE;
+            if ((occupancy[word] & bits(minute, Math.min(toMinute, (word + 1) * Long.SIZE))) != 0) return false;
+        }
+        return true;
+    }
+
+    /** Dates that have bookings. */
+    Set<LocalDate> dates() {
+        return Set.copyOf(tableDaysByDate.keySet());
+    }
+
+    void put(Reservation reservation) {
+        final LocalDate today = LocalDate.now();
+        if (today.isAfter(evictedBefore)) evictBefore(today);
+        remove(reservation.getId());
+
+        final LocalDate date = reservation.getReservationDate();
+        final Integer diningTableId = reservation.getDiningTable().getId();
+        final int start = startOf(reservation.getReservationTime());
+        final Booking booking = new Booking(reservation.getId(), start, endOf(start, reservation.getDuration()));
+
+        tableDaysByDate.compute(date, (key, tableDays) -> {
+            final Map<Integer, TableDay> added = tableDays == null ? new ConcurrentHashMap<>() : tableDays;
+            added.computeIfAbsent(diningTableId, id -> new TableDay()).add(booking);
+            return added;
+        });
+        placementsById.put(reservation.getId(), new Placement(date, diningTableId, booking));
+    }
+
+    /** Drops the table-day and date once empty, inside the date's entry so a concurrent put cannot add to them meanwhile. */
+    void remove(Long id) {
+        final Placement placement = placementsById.remove(id);
+        if (placement == null) return;
+
+        tableDaysByDate.computeIfPresent(placement.date(), (date, tableDays) -> {
+            tableDays.computeIfPresent(placement.diningTableId(), (diningTableId, tableDay) -> {
+                tableDay.remove(placement.booking());
+                return tableDay.bookings.isEmpty() ? null : tableDay;
+            });
+            return tableDays.isEmpty() ? null : tableDays;
+        });
+    }
+
+    void evictBefore(LocalDate today) {
+        evictedBefore = today;
+        tableDaysByDate.keySet().removeIf(date -> date.isBefore(today));
+        placementsById.values().removeIf(placement -> placement.date().isBefore(today));
+    }
+
+    private TableDay tableDay(LocalDate date, Integer diningTableId) {
+        final Map<Integer, TableDay> tableDays = tableDaysByDate.get(date);
+        return tableDays == null ? null : tableDays.get(diningTableId);
+    }
+
+    private static int startOf(LocalTime time) {
+        return time.toSecondOfDay();
+    }
+
+    private static int endOf(int start, int duration) {
+        return start + duration * SECONDS_PER_HOUR;
+    }
+
+    private static int minuteOf(int second, boolean roundUp) {
+        final int minute = (roundUp ? second + SECONDS_PER_MINUTE - 1 : second) / SECONDS_PER_MINUTE - OPENING_MINUTE;
+        return Math.clamp(minute, 0, MINUTES_OPEN);
+    }
+
+    private static long bits(int fromMinute, int toMinute) {
+        final long upTo = toMinute % Long.SIZE == 0 ? -1L : (1L << (toMinute % Long.SIZE)) - 1;
+        return upTo & (-1L << (fromMinute % Long.SIZE));
+    }
+
+    /**
+     * Writes hold the table-day's monitor from changing {@code bookings} until the rebuilt mask is published, so a
+     * writer can never publish a mask built before another writer's change. Reads take no lock.
+     */
+    private static final class TableDay {
+        private final NavigableSet<Booking> bookings = new ConcurrentSkipListSet<>(BY_START);
+        private volatile long[] occupancy = new long[OCCUPANCY_WORDS];
+
+        private synchronized void add(Booking booking) {
+            bookings.add(booking);
+            refreshOccupancy();
+        }
+
+        private synchronized void remove(Booking booking) {
+            bookings.remove(booking);
+            refreshOccupancy();
+        }
+
+        private void refreshOccupancy() {
+            final long[] refreshed = new long[OCCUPANCY_WORDS];
+            for (Booking booking : bookings) {
+                final int fromMinute = minuteOf(booking.start(), false);
+                final int toMinute = minuteOf(booking.end(), true);
+                for (int minute = fromMinute; minute < toMinute; minute = (minute / Long.SIZE + 1) * Long.SIZE) {
+                    final int word = minute / Long.SIZE;
+                    refreshed[word] |= bits(minute, Math.min(toMinute, (word + 1) * Long.SIZE));
+                }
+            }
+            occupancy = refreshed;
+        }
+    }
+
+    private record Booking(Long id, int start, int end) {
+    }
+
+    private record Placement(LocalDate date, Integer diningTableId, Booking booking) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.proinwest.booking_table_app.reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Filters of {@code GET /reservations/search}, all optional and combined with AND.
+ * Dates and times are inclusive; {@code seats} is the minimum number of seats at the table,
+ * name fragments match anywhere in the field ignoring case and {@code phoneNumber} matches the last digits.
+ */
+public record ReservationSearchCriteria(
+        LocalDate from,
+        LocalDate to,
+        LocalTime fromTime,
+        LocalTime toTime,
+        Integer tableId,
+        Integer seats,
+        Long userId,
+        String login,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber
+) {
+    boolean hasTimeRange() {
+        return fromTime != null || toTime != null;
+    }
+}
@@ -1,57 +1,101 @@
 package com.proinwest.booking_table_app.reservation;
 
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableChangedEvent;
 import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
 import com.proinwest.booking_table_app.exceptions.NotFoundException;
 import com.proinwest.booking_table_app.exceptions.ValidationException;
+import com.proinwest.booking_table_app.pagination.CursorPage;
+import com.proinwest.booking_table_app.pagination.KeysetCursor;
+import com.proinwest.booking_table_app.singleFlight.SingleFlight;
+import com.proinwest.booking_table_app.user.PhoneNumbers;
+import com.proinwest.booking_table_app.user.UserSearchIndex;
+import com.proinwest.booking_table_app.user.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.StreamSupport;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservationService {
     static final String FIELD_REQUIRED = "This field is required. ";
-    static final LocalTime OPENING_TIME = LocalTime.of(11,0);
-    static final LocalTime CLOSING_TIME = LocalTime.of(23,0);
+    public static final LocalTime OPENING_TIME = LocalTime.of(11,0);
+    public static final LocalTime CLOSING_TIME = LocalTime.of(23,0);
     static final String OPENING_HOURS_MESSAGE = "Our place is open from " + OPENING_TIME + " to " + CLOSING_TIME + ".";
     static final String DATE_MESSAGE = "Reservation date should be present or future.";
     static final String TIME_MESSAGE = "Reservation time should be present of future.";
     static final int MIN_DURATION = 1;
-    static final int MAX_DURATION = 6;
+    public static final int MAX_DURATION = 6;
     static final String DURATION_MESSAGE = "Duration should be between " + MIN_DURATION + " and " + MAX_DURATION + " hours.";
+    static final int MAX_BATCH_SIZE = 500;
+    static final String BATCH_SIZE_MESSAGE = "Batch should contain between 1 and " + MAX_BATCH_SIZE + " reservations.";
+    private static final Map<UserSearchIndex.Field, String> USER_ATTRIBUTES = Map.of(
+            UserSearchIndex.Field.LOGIN, "login",
+            UserSearchIndex.Field.FIRST_NAME, "firstName",
+            UserSearchIndex.Field.LAST_NAME, "lastName",
+            UserSearchIndex.Field.EMAIL, "email");
+    static final KeysetCursor RESERVATION_CURSOR = new KeysetCursor(
+            new KeysetCursor.Key("startsAt", LocalDateTime::parse),
+            new KeysetCursor.Key("id", Long::valueOf));
+    static final int MAX_INDEXED_USERS = 1_000;
+    static final String SEARCH_DATE_RANGE_MESSAGE = "Search start date should not be after its end date.";
+    static final String SEARCH_TIME_RANGE_MESSAGE = "Searching by time of day needs both dates, and the start time should not be after the end time.";
+    static final String SEARCH_SEATS_MESSAGE = "Number of seats should be positive.";
 
     private final ReservationRepository reservationRepository;
     private final ReservationDTOMapper reservationDTOMapper;
     private final ReservationValidator reservationValidator;
     private final DiningTableService diningTableService;
+    private final BookingGuard bookingGuard;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<DateLookup, CursorPage<ReservationDTO>> dateLookups;
 
     public ReservationService(ReservationRepository reservationRepository,
                               ReservationDTOMapper reservationDTOMapper,
                               ReservationValidator reservationValidator,
-                              DiningTableService diningTableService)
+                              DiningTableService diningTableService,
+                              BookingGuard bookingGuard,
+                              UserSearchIndex userSearchIndex,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${single-flight.max-wait:2s}") Duration singleFlightMaxWait)
     {
         this.reservationRepository = reservationRepository;
         this.reservationDTOMapper = reservationDTOMapper;
         this.reservationValidator = reservationValidator;
         this.diningTableService = diningTableService;
+        this.bookingGuard = bookingGuard;
+        this.userSearchIndex = userSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.dateLookups = new SingleFlight<>(singleFlightMaxWait);
     }
 
-    List<ReservationDTO> getAllReservation() {
-        final Iterable<Reservation> allReservations = reservationRepository.findAll();
+    CursorPage<ReservationDTO> getAllReservation(String cursor, Integer size) {
+        final Window<Reservation> allReservations = reservationRepository.findAllBy(
+                RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
 
-        final List<ReservationDTO> allReservationsList = StreamSupport.stream(allReservations.spliterator(), false)
-                .map(reservationDTOMapper)
-                .toList();
-
-        if (allReservationsList.isEmpty()) throw new NotFoundException("There are no reservations in database.");
+        if (allReservations.isEmpty() && cursor == null) throw new NotFoundException("There are no reservations in database.");
 
-        return allReservationsList;
+        return CursorPage.of(allReservations, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
     ReservationDTO getReservation(Long id) {
@@ -61,10 +105,66 @@ public class ReservationService {
     }
 
     ReservationDTO addReservation(Reservation reservation) {
-        validateReservation(reservation);
+        return saveReservation(reservation);
+    }
+
+    List<ReservationBatchResult> addReservations(List<Reservation> reservations) {
+        if (reservations == null || reservations.isEmpty() || reservations.size() > MAX_BATCH_SIZE)
+            throw new InvalidInputException(BATCH_SIZE_MESSAGE);
+
+        return bookingGuard.bookAll(reservations, () -> {
+            final List<Map<String, String>> errors = reservationValidator.validateReservations(reservations);
+            final Map<BookedSlot.TableDate, List<BookedSlot>> bookedSlots = findBookedSlots(reservations, errors);
+            final List<Reservation> accepted = new ArrayList<>();
+
+            for (int i = 0; i < reservations.size(); i++) {
+                final Reservation reservation = reservations.get(i);
+                if (!errors.get(i).isEmpty()) continue;
+
+                setTimeRange(reservation);
+                final BookedSlot slot = BookedSlot.of(reservation);
+                final List<BookedSlot> tableDaySlots = bookedSlots.computeIfAbsent(slot.tableDate(), key -> new ArrayList<>());
+                if (tableDaySlots.stream().anyMatch(slot::overlaps)) {
+                    errors.set(i, Map.of("diningTable", "Dining table with id " + slot.diningTableId() + " is not available at the time."));
+                } else {
+                    tableDaySlots.add(slot);
+                    accepted.add(reservation);
+                }
+            }
+
+            reservationRepository.saveAll(accepted).forEach(bookingGuard::saved);
+            if (!accepted.isEmpty()) eventPublisher.publishEvent(new ReservationsChangedEvent(accepted.stream().map(BookedSlot::of).toList()));
+
+            final List<ReservationBatchResult> results = new ArrayList<>(reservations.size());
+            for (int i = 0; i < reservations.size(); i++) {
+                results.add(errors.get(i).isEmpty()
+                        ? ReservationBatchResult.created(i, reservationDTOMapper.apply(reservations.get(i)))
+                        : ReservationBatchResult.rejected(i, errors.get(i)));
+            }
+            return results;
+        });
+    }
+
+    private Map<BookedSlot.TableDate, List<BookedSlot>> findBookedSlots(List<Reservation> reservations, List<Map<String, String>> errors) {
+        final Set<LocalDate> dates = new HashSet<>();
+        final Set<Integer> diningTableIds = new HashSet<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            if (!errors.get(i).isEmpty()) continue;
+            dates.add(reservations.get(i).getReservationDate());
+            diningTableIds.add(reservations.get(i).getDiningTable().getId());
+        }
+        if (dates.isEmpty()) return new HashMap<>();
+
+        final LocalDate firstDate = Collections.min(dates);
+        final LocalDate lastDate = Collections.max(dates);
+        return reservationRepository.findBookedSlots(dates, diningTableIds, firstDate.atStartOfDay(), lastDate.plusDays(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(BookedSlot::tableDate, HashMap::new, Collectors.toCollection(ArrayList::new)));
+    }
 
-        final Reservation savedReservation = reservationRepository.save(reservation);
-        return reservationDTOMapper.apply(savedReservation);
+    /** Time ranges booked at any table on the dates from {@code firstDate} to {@code lastDate}, read with one range query. */
+    public List<BookedSlot> findBookedSlotsBetween(LocalDate firstDate, LocalDate lastDate) {
+        return reservationRepository.findBookedSlotsStartingBetween(firstDate.atStartOfDay(), lastDate.plusDays(1).atStartOfDay());
     }
 
     URI location(Reservation reservation) {
@@ -76,147 +176,290 @@ public class ReservationService {
 
     ReservationDTO updateReservation(Long id, Reservation reservation) {
         final Reservation reservationToUpdate = reservationRepository.findById(id)
-                        .map(updatingReservation -> updateReservation(reservation, updatingReservation))
                         .orElseThrow(() -> new NotFoundException("Reservation with id " + id + " was not found."));
+        final BookedSlot storedSlot = BookedSlot.of(reservationToUpdate);
 
-        validateReservation(reservationToUpdate);
-
-        final Reservation savedReservation = reservationRepository.save(reservationToUpdate);
-        return reservationDTOMapper.apply(savedReservation);
+        return saveReservation(updateReservation(reservation, reservationToUpdate), storedSlot);
     }
 
     ReservationDTO partiallyUpdateReservation(final Long id, final Reservation reservation) {
         final Reservation reservationToUpdate = reservationRepository.findById(id)
-                .map(updatingReservation -> partiallyUpdateReservation(reservation, updatingReservation))
                 .orElseThrow(() -> new NotFoundException("Reservation with id " + id + " was not found."));
+        final BookedSlot storedSlot = BookedSlot.of(reservationToUpdate);
 
-        validateReservation(reservationToUpdate);
-
-        final Reservation savedReservation = reservationRepository.save(reservationToUpdate);
-        return reservationDTOMapper.apply(savedReservation);
+        return saveReservation(partiallyUpdateReservation(reservation, reservationToUpdate), storedSlot);
     }
 
+    /** Runs under the lock of the reservation's table-day, like a booking of it, so no conflict check interleaves. */
     void deleteReservation(Long id) {
-        if (!existsById(id)) throw new NotFoundException("Reservation with id " + id + " was not found.");
-        reservationRepository.deleteById(id);
+        final Reservation reservation = reservationRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Reservation with id " + id + " was not found."));
+        bookingGuard.book(reservation, () -> {
+            reservationRepository.delete(reservation);
+            bookingGuard.deleted(id);
+            eventPublisher.publishEvent(new ReservationsChangedEvent(List.of(BookedSlot.of(reservation))));
+            return null;
+        });
     }
 
-    private boolean existsById(Long id) {
-        return reservationRepository.existsById(id);
+    private ReservationDTO saveReservation(Reservation reservation) {
+        return saveReservation(reservation, null);
     }
 
-    List<ReservationDTO> findAllByReservationDate(LocalDate date) {
-        final List<ReservationDTO> allByDate = reservationRepository.findAllByReservationDate(date)
-                .stream()
-                .sorted(Comparator.comparing(Reservation::getReservationTime))
-                .map(reservationDTOMapper)
-                .toList();
+    /**
+     * {@code storedSlot} is where an updated reservation was stored, read before the update changed its fields, and
+     * {@code null} for a new one. A move to another table or date also changes the table-day it leaves, so both are locked.
+     */
+    private ReservationDTO saveReservation(Reservation reservation, BookedSlot storedSlot) {
+        final Supplier<ReservationDTO> booking = () -> {
+            validateReservation(reservation);
+            setTimeRange(reservation);
+
+            final Reservation savedReservation = reservationRepository.save(reservation);
+            bookingGuard.saved(savedReservation);
+            final BookedSlot savedSlot = BookedSlot.of(savedReservation);
+            eventPublisher.publishEvent(new ReservationsChangedEvent(storedSlot == null ? List.of(savedSlot) : List.of(storedSlot, savedSlot)));
+            return reservationDTOMapper.apply(savedReservation);
+        };
+
+        if (storedSlot == null || storedSlot.tableDate().equals(new BookedSlot.TableDate(
+                reservation.getDiningTable().getId(), reservation.getReservationDate()))) {
+            return bookingGuard.book(reservation, booking);
+        }
+        return bookingGuard.bookAll(List.of(atTableDay(storedSlot), reservation), booking);
+    }
 
-        if (allByDate.isEmpty()) throw new NotFoundException("There is no reservation on date " + date + ".");
+    /** Reservation holding only the table and date of a slot, to lock that table-day along with others. */
+    private static Reservation atTableDay(BookedSlot slot) {
+        final DiningTable diningTable = new DiningTable();
+        diningTable.setId(slot.diningTableId());
+        final Reservation reservation = new Reservation();
+        reservation.setDiningTable(diningTable);
+        reservation.setReservationDate(slot.date());
+        return reservation;
+    }
 
-        return allByDate;
+    /** Concurrent requests for the same page share one query. */
+    CursorPage<ReservationDTO> findAllByReservationDate(LocalDate date, String cursor, Integer size) {
+        return dateLookups.run(new DateLookup(date, cursor, size), () -> {
+            final Window<Reservation> allByDate = reservationRepository.findAllByStartsAtGreaterThanEqualAndStartsAtLessThan(
+                    date.atStartOfDay(), date.plusDays(1).atStartOfDay(), RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
+
+            if (allByDate.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation on date " + date + ".");
+
+            return CursorPage.of(allByDate, reservationDTOMapper, RESERVATION_CURSOR);
+        });
+    }
+
+    /** Once a write is committed, requests for the dates it touched no longer join queries that started before it. */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationsChanged(ReservationsChangedEvent event) {
+        dateLookups.forget(lookup -> event.slots().stream().anyMatch(slot -> slot.date().equals(lookup.date())));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiningTableChanged(DiningTableChangedEvent event) {
+        dateLookups.forget(lookup -> true);
     }
 
     public List<ReservationDTO> findAllByUserId(Long id) {
         return reservationRepository.findAllByUserId(id)
                 .stream()
-                .sorted(Comparator.comparing(Reservation::getId))
                 .map(reservationDTOMapper)
                 .toList();
     }
 
-    List<ReservationDTO> findAllByUserLogin(String loginFragment) {
-        final List<ReservationDTO> allByUserLogin = reservationRepository.findAllByUserLoginContainingIgnoreCase(loginFragment)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+    CursorPage<ReservationDTO> findAllByUserId(Long id, String cursor, Integer size) {
+        final Window<Reservation> allByUserId = reservationRepository.findAllByUserId(id,
+                RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
 
-        if (allByUserLogin.isEmpty()) throw new NotFoundException("There is no reservation with user's login containing: " + loginFragment);
+        if (allByUserId.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with user's id " + id + ".");
 
-        return allByUserLogin;
+        return CursorPage.of(allByUserId, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByUserFirstName(String firstNameFragment) {
-        final List<ReservationDTO> allByUserName = reservationRepository.findAllByUserFirstNameContainingIgnoreCase(firstNameFragment)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+    CursorPage<ReservationDTO> findAllByUserLogin(String loginFragment, String cursor, Integer size) {
+        final Window<Reservation> allByUserLogin = findAllByUser(UserSearchIndex.Field.LOGIN, loginFragment, cursor, size,
+                reservationRepository::findAllByUserLoginContainingIgnoreCase);
 
-        if (allByUserName.isEmpty()) throw new NotFoundException("There is no reservation with user's first name containing: " + firstNameFragment);
+        if (allByUserLogin.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with user's login containing: " + loginFragment);
 
-        return allByUserName;
+        return CursorPage.of(allByUserLogin, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByUserLastName(String lastNameFragment) {
-        final List<ReservationDTO> allByUserLastName = reservationRepository.findAllByUserLastNameContainingIgnoreCase(lastNameFragment)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+    CursorPage<ReservationDTO> findAllByUserFirstName(String firstNameFragment, String cursor, Integer size) {
+        final Window<Reservation> allByUserName = findAllByUser(UserSearchIndex.Field.FIRST_NAME, firstNameFragment, cursor, size,
+                reservationRepository::findAllByUserFirstNameContainingIgnoreCase);
 
-        if (allByUserLastName.isEmpty()) throw new NotFoundException("There is no reservation with user's last name containing: " + lastNameFragment);
+        if (allByUserName.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with user's first name containing: " + firstNameFragment);
 
-        return allByUserLastName;
+        return CursorPage.of(allByUserName, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByUserEmail(String emailFragment) {
-        final List<ReservationDTO> allByUserEmail = reservationRepository.findAllByUserEmailContainingIgnoreCase(emailFragment)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+    CursorPage<ReservationDTO> findAllByUserLastName(String lastNameFragment, String cursor, Integer size) {
+        final Window<Reservation> allByUserLastName = findAllByUser(UserSearchIndex.Field.LAST_NAME, lastNameFragment, cursor, size,
+                reservationRepository::findAllByUserLastNameContainingIgnoreCase);
 
-        if (allByUserEmail.isEmpty()) throw new NotFoundException("There is no reservation with user's email containing: " + emailFragment);
+        if (allByUserLastName.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with user's last name containing: " + lastNameFragment);
 
-        return allByUserEmail;
+        return CursorPage.of(allByUserLastName, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByUserPhoneNumber(String phoneNumberFragment) {
-        final List<ReservationDTO> allByUserPhoneNumber = reservationRepository.findAllByUserPhoneNumberContaining(phoneNumberFragment)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+    CursorPage<ReservationDTO> findAllByUserEmail(String emailFragment, String cursor, Integer size) {
+        final Window<Reservation> allByUserEmail = findAllByUser(UserSearchIndex.Field.EMAIL, emailFragment, cursor, size,
+                reservationRepository::findAllByUserEmailContainingIgnoreCase);
 
-        if (allByUserPhoneNumber.isEmpty()) throw new NotFoundException("There is no reservation with user's phone number containing: " + phoneNumberFragment);
+        if (allByUserEmail.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with user's email containing: " + emailFragment);
 
-        return allByUserPhoneNumber;
+        return CursorPage.of(allByUserEmail, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByTableId(Integer id) {
+    /** Reservations of the users whose phone number ends with the digits of {@code phoneNumberSuffix}, whatever the formatting. */
+    CursorPage<ReservationDTO> findAllByUserPhoneNumber(String phoneNumberSuffix, String cursor, Integer size) {
+        final String reversedDigits = PhoneNumbers.reversedDigits(phoneNumberSuffix);
+        if (reversedDigits == null) throw new InvalidInputException(UserService.PHONE_SUFFIX_MESSAGE);
+
+        final Window<Reservation> allByUserPhoneNumber = reservationRepository.findAllByUserPhoneDigitsReversedStartingWith(reversedDigits,
+                RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
+
+        if (allByUserPhoneNumber.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with user's phone number ending with: " + phoneNumberSuffix);
+
+        return CursorPage.of(allByUserPhoneNumber, reservationDTOMapper, RESERVATION_CURSOR);
+    }
+
+    /**
+     * Reservations of the users whose field contains the fragment, looked up in the {@link UserSearchIndex}.
+     * A fragment matching more than {@value #MAX_INDEXED_USERS} users is too unselective for an id list
+     * and is left to the {@code LIKE} join of the fallback finder.
+     */
+    private Window<Reservation> findAllByUser(UserSearchIndex.Field field, String fragment, String cursor, Integer size, UserFragmentFinder fallback) {
+        final KeysetScrollPosition position = RESERVATION_CURSOR.position(cursor);
+        final Limit limit = CursorPage.limit(size);
+        final List<Long> userIds = userSearchIndex.search(field, fragment, Long.MIN_VALUE, MAX_INDEXED_USERS + 1);
+
+        if (userIds.size() > MAX_INDEXED_USERS) return fallback.find(fragment, position, RESERVATION_CURSOR.sort(), limit);
+        if (userIds.isEmpty()) return Window.from(List.of(), index -> position);
+
+        return reservationRepository.findAllByUserIdIn(userIds, position, RESERVATION_CURSOR.sort(), limit);
+    }
+
+    /**
+     * Reservations matching every given criterion, fetched with their users and tables in one query per page.
+     * Name fragments are resolved to user ids through the {@link UserSearchIndex} like the single-field searches,
+     * so the query filters on {@code user_id}; see {@link ReservationSpecifications} for the other predicates.
+     */
+    CursorPage<ReservationDTO> search(ReservationSearchCriteria criteria, String cursor, Integer size) {
+        final KeysetScrollPosition position = RESERVATION_CURSOR.position(cursor);
+        final Limit limit = CursorPage.limit(size);
+        final Optional<Specification<Reservation>> specification = specificationOf(criteria);
+
+        final Window<Reservation> found = specification.isEmpty()
+                ? Window.from(List.of(), index -> position)
+                : reservationRepository.findBy(specification.get(), query -> query
+                        .sortBy(RESERVATION_CURSOR.sort())
+                        .limit(limit.max())
+                        .scroll(position));
+
+        if (found.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation matching the search criteria.");
+
+        return CursorPage.of(found, reservationDTOMapper, RESERVATION_CURSOR);
+    }
+
+    /** Conjunction of the given criteria, or empty when one of them already rules out every reservation. */
+    private Optional<Specification<Reservation>> specificationOf(ReservationSearchCriteria criteria) {
+        final LocalDate from = criteria.from();
+        final LocalDate to = criteria.to();
+        if (from != null && to != null && from.isAfter(to)) throw new InvalidInputException(SEARCH_DATE_RANGE_MESSAGE);
+        if (criteria.seats() != null && criteria.seats() < 1) throw new InvalidInputException(SEARCH_SEATS_MESSAGE);
+
+        Specification<Reservation> specification = Specification.where(ReservationSpecifications.withUserAndTable());
+
+        if (criteria.hasTimeRange()) {
+            final LocalTime fromTime = criteria.fromTime() == null ? LocalTime.MIN : criteria.fromTime();
+            final LocalTime toTime = criteria.toTime() == null ? LocalTime.MAX : criteria.toTime();
+            if (from == null || to == null || fromTime.isAfter(toTime)) throw new InvalidInputException(SEARCH_TIME_RANGE_MESSAGE);
+
+            specification = specification.and(ReservationSpecifications.startsDailyBetween(from, to, fromTime, toTime));
+        } else {
+            if (from != null) specification = specification.and(ReservationSpecifications.startsOnOrAfter(from));
+            if (to != null) specification = specification.and(ReservationSpecifications.startsOnOrBefore(to));
+        }
+
+        if (criteria.tableId() != null) specification = specification.and(ReservationSpecifications.atTable(criteria.tableId()));
+        if (criteria.seats() != null) specification = specification.and(ReservationSpecifications.atTableWithMinSeats(criteria.seats()));
+        if (criteria.userId() != null) specification = specification.and(ReservationSpecifications.ofUser(criteria.userId()));
+
+        if (criteria.phoneNumber() != null) {
+            final String reversedDigits = PhoneNumbers.reversedDigits(criteria.phoneNumber());
+            if (reversedDigits == null) throw new InvalidInputException(UserService.PHONE_SUFFIX_MESSAGE);
+
+            specification = specification.and(ReservationSpecifications.ofUsersWithPhoneDigitsReversedStartingWith(reversedDigits));
+        }
+
+        final Map<UserSearchIndex.Field, String> fragments = new EnumMap<>(UserSearchIndex.Field.class);
+        if (criteria.login() != null) fragments.put(UserSearchIndex.Field.LOGIN, criteria.login());
+        if (criteria.firstName() != null) fragments.put(UserSearchIndex.Field.FIRST_NAME, criteria.firstName());
+        if (criteria.lastName() != null) fragments.put(UserSearchIndex.Field.LAST_NAME, criteria.lastName());
+        if (criteria.email() != null) fragments.put(UserSearchIndex.Field.EMAIL, criteria.email());
+
+        Set<Long> userIds = null;
+        for (Map.Entry<UserSearchIndex.Field, String> fragment : fragments.entrySet()) {
+            if (fragment.getValue().isBlank()) continue;
+
+            final List<Long> matchingIds = userSearchIndex.search(fragment.getKey(), fragment.getValue(), Long.MIN_VALUE, MAX_INDEXED_USERS + 1);
+            if (matchingIds.size() > MAX_INDEXED_USERS) {
+                specification = specification.and(ReservationSpecifications.ofUsersWithFieldContaining(
+                        USER_ATTRIBUTES.get(fragment.getKey()), fragment.getValue()));
+            } else if (userIds == null) {
+                userIds = new HashSet<>(matchingIds);
+            } else {
+                userIds.retainAll(matchingIds);
+            }
+        }
+
+        if (userIds != null) {
+            if (userIds.isEmpty()) return Optional.empty();
+            specification = specification.and(ReservationSpecifications.ofUsers(userIds));
+        }
+
+        return Optional.of(specification);
+    }
+
+    CursorPage<ReservationDTO> findAllByTableId(Integer id, String cursor, Integer size) {
         if (!diningTableService.existsById(id))
             throw new NotFoundException("Dining table with id " + id + " was not found.");
 
-        final List<ReservationDTO> allByTableId = reservationRepository.findAllByDiningTableId(id)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+        final Window<Reservation> allByTableId = reservationRepository.findAllByDiningTableId(id,
+                RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
 
-        if (allByTableId.isEmpty()) throw new NotFoundException("There is no reservation with table id: " + id);
+        if (allByTableId.isEmpty() && cursor == null) throw new NotFoundException("There is no reservation with table id: " + id);
 
-        return allByTableId;
+        return CursorPage.of(allByTableId, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByDateAndTableId(LocalDate date, Integer id) {
+    CursorPage<ReservationDTO> findAllByDateAndTableId(LocalDate date, Integer id, String cursor, Integer size) {
         if (!diningTableService.existsById(id))
             throw new NotFoundException("Dining table with id " + id + " was not found.");
 
-        final List<ReservationDTO> allByDateAndTableId = reservationRepository.findAllByReservationDateAndDiningTableId(date, id)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+        final Window<Reservation> allByDateAndTableId = reservationRepository.findAllByDiningTableIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(
+                id, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
 
-        if (allByDateAndTableId.isEmpty()) throw new NotFoundException("There is no reservation on date " + date + " at table with id " + id + ".");
+        if (allByDateAndTableId.isEmpty() && cursor == null)
+            throw new NotFoundException("There is no reservation on date " + date + " at table with id " + id + ".");
 
-        return allByDateAndTableId;
+        return CursorPage.of(allByDateAndTableId, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
-    List<ReservationDTO> findAllByDateAndTime(LocalDate date, LocalTime time) {
-        final List<ReservationDTO> allByDateAndTime = reservationRepository.findAllByReservationDateAndReservationTime(date, time)
-                .stream()
-                .map(reservationDTOMapper)
-                .toList();
+    CursorPage<ReservationDTO> findAllByDateAndTime(LocalDate date, LocalTime time, String cursor, Integer size) {
+        final Window<Reservation> allByDateAndTime = reservationRepository.findAllByStartsAt(LocalDateTime.of(date, time),
+                RESERVATION_CURSOR.position(cursor), RESERVATION_CURSOR.sort(), CursorPage.limit(size));
 
-        if (allByDateAndTime.isEmpty()) throw new NotFoundException("There is no reservation on date " + date + " and time " + time + ".");
+        if (allByDateAndTime.isEmpty() && cursor == null)
+            throw new NotFoundException("There is no reservation on date " + date + " and time " + time + ".");
 
-        return allByDateAndTime;
+        return CursorPage.of(allByDateAndTime, reservationDTOMapper, RESERVATION_CURSOR);
     }
 
     public List<ReservationDTO> findAllByDiningTableId(Integer id) {
@@ -236,6 +479,17 @@ public class ReservationService {
         if (!validationMessages.isEmpty()) throw new ValidationException(validationMessages);
     }
 
+    @FunctionalInterface
+    private interface UserFragmentFinder {
+        Window<Reservation> find(String fragment, ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    private static void setTimeRange(Reservation reservation) {
+        final LocalDateTime startsAt = LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime());
+        reservation.setStartsAt(startsAt);
+        reservation.setEndsAt(startsAt.plusHours(reservation.getDuration()));
+    }
+
     private static Reservation updateReservation(Reservation reservation, Reservation updatingReservation) {
         updatingReservation.setReservationDate(reservation.getReservationDate());
         updatingReservation.setReservationTime(reservation.getReservationTime());
@@ -255,4 +509,7 @@ public class ReservationService {
 
         return updatingReservation;
     }
-}
\ No newline at end of file
+
+    private record DateLookup(LocalDate date, String cursor, Integer size) {
+    }
+}
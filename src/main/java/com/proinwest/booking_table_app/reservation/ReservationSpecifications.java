@@ -0,0 +1,109 @@
+package com.proinwest.booking_table_app.reservation;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Predicates of the multi-criteria reservation search. Each one compares a column to a constant or a range,
+ * so the database can drive the query from an index on {@code starts_at}, {@code table_id} or {@code user_id};
+ * only the fallback fragment match is a {@code LIKE '%x%'}, and it is used when nothing narrower is known.
+ */
+final class ReservationSpecifications {
+    /** Longest date range whose time-of-day window is split into one {@code starts_at} range per day. */
+    static final int MAX_DAILY_RANGES = 31;
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private ReservationSpecifications() {
+    }
+
+    /**
+     * Fetch-joins the user and the table, so a page is one statement. Goes first in a conjunction:
+     * predicates on user or table columns reuse these joins.
+     */
+    static Specification<Reservation> withUserAndTable() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class) {
+                root.fetch("user");
+                root.fetch("diningTable");
+            }
+            return null;
+        };
+    }
+
+    static Specification<Reservation> startsOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startsAt"), from.atStartOfDay());
+    }
+
+    static Specification<Reservation> startsOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThan(root.get("startsAt"), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Reservations between the dates starting within the time window of their day. Up to {@value #MAX_DAILY_RANGES} days
+     * the window becomes one {@code starts_at} range per day; longer ranges keep the date range on {@code starts_at}
+     * and check the time of day on the rows it selects.
+     */
+    static Specification<Reservation> startsDailyBetween(LocalDate from, LocalDate to, LocalTime fromTime, LocalTime toTime) {
+        if (from.plusDays(MAX_DAILY_RANGES).isAfter(to)) {
+            return (root, query, cb) -> {
+                final List<Predicate> dailyRanges = new ArrayList<>();
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    dailyRanges.add(cb.between(root.get("startsAt"), LocalDateTime.of(date, fromTime), LocalDateTime.of(date, toTime)));
+                }
+                return cb.or(dailyRanges.toArray(Predicate[]::new));
+            };
+        }
+
+        return Specification.<Reservation>where(startsOnOrAfter(from))
+                .and(startsOnOrBefore(to))
+                .and((root, query, cb) -> cb.between(root.get("reservationTime"), fromTime, toTime));
+    }
+
+    static Specification<Reservation> atTable(Integer tableId) {
+        return (root, query, cb) -> cb.equal(root.get("diningTable").get("id"), tableId);
+    }
+
+    static Specification<Reservation> atTableWithMinSeats(Integer seats) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(joined(root, "diningTable").get("seats"), seats);
+    }
+
+    static Specification<Reservation> ofUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    static Specification<Reservation> ofUsers(Collection<Long> userIds) {
+        return (root, query, cb) -> root.get("user").get("id").in(userIds);
+    }
+
+    /** Users whose field contains the fragment, for fragments too common to resolve to a list of user ids. */
+    static Specification<Reservation> ofUsersWithFieldContaining(String field, String fragment) {
+        final String pattern = "%" + ESCAPE.escape(fragment.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(joined(root, "user").get(field)), pattern, ESCAPE.getEscapeCharacter());
+    }
+
+    static Specification<Reservation> ofUsersWithPhoneDigitsReversedStartingWith(String phoneDigitsReversed) {
+        return (root, query, cb) -> cb.like(joined(root, "user").get("phoneDigitsReversed"), phoneDigitsReversed + "%");
+    }
+
+    /** The fetch join of the association when there is one, so filtering on it does not join the table twice. */
+    private static From<?, ?> joined(Root<Reservation> root, String attribute) {
+        return root.getFetches().stream()
+                .filter(fetch -> fetch.getAttribute().getName().equals(attribute))
+                .map(fetch -> (Join<?, ?>) fetch)
+                .findFirst()
+                .orElseGet(() -> root.join(attribute));
+    }
+}
@@ -1,133 +1,175 @@
 package com.proinwest.booking_table_app.reservation;
 
+import com.proinwest.booking_table_app.diningTable.DiningTable;
 import com.proinwest.booking_table_app.diningTable.DiningTableService;
-import com.proinwest.booking_table_app.diningTable.DiningTableValidator;
 import com.proinwest.booking_table_app.exceptions.TableNotAvailableException;
+import com.proinwest.booking_table_app.user.User;
 import com.proinwest.booking_table_app.user.UserService;
+import com.proinwest.booking_table_app.validation.Check;
+import com.proinwest.booking_table_app.validation.Rules;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static com.proinwest.booking_table_app.diningTable.DiningTableValidator.SEATS_IN_RANGE;
+import static com.proinwest.booking_table_app.diningTable.DiningTableValidator.SEATS_REQUIRED;
 import static com.proinwest.booking_table_app.reservation.ReservationService.*;
 
 @Component
 public class ReservationValidator {
+    /** Resolves the default time zone once instead of on every {@code now()}. */
+    private static final Clock CLOCK = Clock.systemDefaultZone();
+    private static final String DATE_REQUIRED_MESSAGE = FIELD_REQUIRED + DATE_MESSAGE;
+    private static final String DURATION_REQUIRED_MESSAGE = FIELD_REQUIRED + DURATION_MESSAGE;
+    private static final String TIME_REQUIRED_MESSAGE = FIELD_REQUIRED + TIME_MESSAGE;
+    private static final String TIME_IN_PAST_MESSAGE = TIME_MESSAGE + OPENING_HOURS_MESSAGE;
+    private static final String OUTSIDE_OPENING_HOURS_MESSAGE = OPENING_HOURS_MESSAGE + " Try change reservation time and/or duration.";
+    private static final Rules<Reservation> RESERVATION_RULES = slotRules(Rules.<Reservation>builder()
+            .field("user", Reservation::getUser,
+                    Check.<User>of(user -> user != null && user.getId() != null, "User ID is required."))
+            .field("diningTable", Reservation::getDiningTable,
+                    Check.<DiningTable>of(diningTable -> diningTable != null && diningTable.getId() != null, "Dining table ID is required.")))
+            .build();
+    private static final Rules<Reservation> FREE_TABLE_RULES = slotRules(Rules.<Reservation>builder())
+            .field("seats", reservation -> reservation.getDiningTable().getSeats(), SEATS_REQUIRED, SEATS_IN_RANGE)
+            .build();
 
     private final UserService userService;
     private final DiningTableService diningTableService;
-    private final DiningTableValidator diningTableValidator;
-    private final ReservationRepository reservationRepository;
+    private final BookingGuard bookingGuard;
 
-    public ReservationValidator(UserService userService, DiningTableService diningTableService, DiningTableValidator diningTableValidator, ReservationRepository reservationRepository) {
+    public ReservationValidator(UserService userService, DiningTableService diningTableService, BookingGuard bookingGuard) {
         this.userService = userService;
         this.diningTableService = diningTableService;
-        this.diningTableValidator = diningTableValidator;
-        this.reservationRepository = reservationRepository;
+        this.bookingGuard = bookingGuard;
     }
 
+    /**
+     * Field checks run first and, when any fails, are returned without touching the database.
+     * Only then are the user and dining table looked up and the table's availability checked.
+     */
     Map<String, String> validateReservation(Reservation reservation) {
-        final Map<String, String> errors = new HashMap<>();
+        final Map<String, String> errors = RESERVATION_RULES.validate(reservation);
+        if (!errors.isEmpty()) return errors;
+
+        final Map<String, String> referenceErrors = validateReferences(reservation, userService::existsById, diningTableService::existsById);
+        if (referenceErrors.isEmpty()) isTableAvailable(reservation);
 
-        validateUserId(reservation.getUser().getId(), errors);
-        validateDiningTableId(reservation.getDiningTable().getId(), errors);
-        validateDate(reservation.getReservationDate(), errors);
-        validateTime(reservation.getReservationTime(),
-                reservation.getReservationDate(),
-                reservation.getDuration(),
-                errors);
-        validateDuration(reservation.getDuration(), errors);
-        isTableAvailable(reservation);
+        return referenceErrors;
+    }
 
+    /**
+     * Validates a batch with one query for the users and one for the dining tables of the reservations whose fields
+     * are valid, without checking table availability. References of valid reservations are replaced with the fetched entities.
+     * The returned list can be modified, e.g. to reject reservations that turn out to conflict.
+     */
+    List<Map<String, String>> validateReservations(List<Reservation> reservations) {
+        final List<Map<String, String>> errors = reservations.stream()
+                .map(RESERVATION_RULES::validate)
+                .collect(Collectors.toCollection(ArrayList::new));
+        final List<Reservation> withValidFields = IntStream.range(0, reservations.size())
+                .filter(i -> errors.get(i).isEmpty())
+                .mapToObj(reservations::get)
+                .toList();
+        if (withValidFields.isEmpty()) return errors;
+
+        final Map<Long, User> usersById = userService.findAllById(withValidFields.stream()
+                        .map(reservation -> reservation.getUser().getId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        final Map<Integer, DiningTable> diningTablesById = diningTableService.findAllById(withValidFields.stream()
+                        .map(reservation -> reservation.getDiningTable().getId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(DiningTable::getId, Function.identity()));
+
+        for (int i = 0; i < reservations.size(); i++) {
+            final Reservation reservation = reservations.get(i);
+            if (!errors.get(i).isEmpty()) continue;
+
+            errors.set(i, validateReferences(reservation, usersById::containsKey, diningTablesById::containsKey));
+            if (errors.get(i).isEmpty()) {
+                reservation.setUser(usersById.get(reservation.getUser().getId()));
+                reservation.setDiningTable(diningTablesById.get(reservation.getDiningTable().getId()));
+            }
+        }
         return errors;
     }
 
     Map<String, String> validateDateTimeDurationAndSeats(Reservation reservation) {
-        final Map<String, String> errors = new HashMap<>();
+        return FREE_TABLE_RULES.validate(reservation);
+    }
 
-        validateDate(reservation.getReservationDate(), errors);
-        validateTime(reservation.getReservationTime(),
-                reservation.getReservationDate(),
-                reservation.getDuration(),
-                errors);
-        validateDuration(reservation.getDuration(), errors);
-        diningTableValidator.validateSeats(reservation.getDiningTable().getSeats(), errors);
+    /** Checks that the referenced dining table and user exist. */
+    private static Map<String, String> validateReferences(Reservation reservation, Predicate<Long> userExists, Predicate<Integer> diningTableExists) {
+        final Integer diningTableId = reservation.getDiningTable().getId();
+        final Long userId = reservation.getUser().getId();
+        final boolean diningTableFound = diningTableExists.test(diningTableId);
+        final boolean userFound = userExists.test(userId);
+        if (diningTableFound && userFound) return Map.of();
 
+        final Map<String, String> errors = new HashMap<>();
+        if (!diningTableFound) errors.put("diningTable", "Dining table with id " + diningTableId + " was not found.");
+        if (!userFound) errors.put("user", "User with id " + userId + " was not found.");
         return errors;
     }
 
-    private void validateUserId(Long id, Map<String, String> errors) {
-        if (id == null) {
-            errors.put("user", "User ID is required.");
-        } else if (!userService.existsById(id)) {
-            errors.put("user", "User with id " + id + " was not found.");
-        }
-    }
-
-    private void validateDiningTableId(Integer id, Map<String, String> errors) {
-        if (id == null) {
-            errors.put("diningTable", "Dining table ID is required.");
-        } else if (!diningTableService.existsById(id)) {
-            errors.put("diningTable", "Dining table with id " + id + " was not found.");
-        }
+    /**
+     * Date, time and duration rules, shared by bookings and free table searches. They are on the booking path and the
+     * time checks depend on the other two fields, so each field is one rule rather than a list of checks.
+     */
+    private static Rules.Builder<Reservation> slotRules(Rules.Builder<Reservation> rules) {
+        return rules
+                .rule("reservationDate", ReservationValidator::validateDate)
+                .rule("reservationTime", ReservationValidator::validateTime)
+                .rule("duration", ReservationValidator::validateDuration);
     }
 
-    private void validateDuration(Integer duration, Map<String, String> errors) {
-        if (duration == null) {
-            errors.put("duration", FIELD_REQUIRED + DURATION_MESSAGE);
-        } else if (duration < MIN_DURATION || duration > MAX_DURATION) {
-            errors.put("duration", DURATION_MESSAGE);
-        }
+    private static String validateDate(Reservation reservation) {
+        final LocalDate date = reservation.getReservationDate();
+        if (date == null) return DATE_REQUIRED_MESSAGE;
+        if (date.isBefore(LocalDate.now(CLOCK))) return DATE_MESSAGE;
+        return null;
     }
 
-    private void validateDate(LocalDate date, Map<String, String> errors) {
-        if (date == null) {
-            errors.put("reservationDate", FIELD_REQUIRED + DATE_MESSAGE);
-        } else if (date.isBefore(LocalDate.now())) {
-            errors.put("reservationDate", DATE_MESSAGE);
-        }
+    private static String validateTime(Reservation reservation) {
+        final LocalTime time = reservation.getReservationTime();
+        final LocalDate date = reservation.getReservationDate();
+        final Integer duration = reservation.getDuration();
+        if (time == null) return TIME_REQUIRED_MESSAGE;
+        if (date == null || duration == null) return "Make sure reservation date and duration are not null.";
+        if (date.isEqual(LocalDate.now(CLOCK)) && time.isBefore(LocalTime.now(CLOCK))) return TIME_IN_PAST_MESSAGE;
+        if (time.isBefore(OPENING_TIME) || time.plusHours(duration).isAfter(CLOSING_TIME) || time.plusHours(duration).isBefore(OPENING_TIME))
+            return OUTSIDE_OPENING_HOURS_MESSAGE;
+        return null;
     }
 
-    private void validateTime(LocalTime time, LocalDate date, Integer duration, Map<String, String> errors) {
-        if (time == null) {
-            errors.put("reservationTime", FIELD_REQUIRED + TIME_MESSAGE);
-        } else if (date == null || duration == null) {
-            errors.put("reservationTime", "Make sure reservation date and duration are not null.");
-        } else if (date.isEqual(LocalDate.now()) && time.isBefore(LocalTime.now())) {
-            errors.put("reservationTime", TIME_MESSAGE + OPENING_HOURS_MESSAGE);
-        } else if (time.isBefore(OPENING_TIME) || time.plusHours(duration).isAfter(CLOSING_TIME) || time.plusHours(duration).isBefore(OPENING_TIME)) {
-            errors.put("reservationTime", OPENING_HOURS_MESSAGE + " Try change reservation time and/or duration.");
-        }
+    private static String validateDuration(Reservation reservation) {
+        final Integer duration = reservation.getDuration();
+        if (duration == null) return DURATION_REQUIRED_MESSAGE;
+        if (duration < MIN_DURATION || duration > MAX_DURATION) return DURATION_MESSAGE;
+        return null;
     }
 
     void isTableAvailable(Reservation reservation) {
-        final List<Reservation> allReservationsByDateAndTableId = reservationRepository
-                .findAllByReservationDateAndDiningTableId(reservation.getReservationDate(), reservation.getDiningTable().getId());
-
-        allReservationsByDateAndTableId.remove(reservation);
+        if (reservation.getDiningTable().getId() == null
+                || reservation.getReservationDate() == null
+                || reservation.getReservationTime() == null
+                || reservation.getDuration() == null) return;
 
-        for (Reservation savedReservation : allReservationsByDateAndTableId) {
-            if (isReservationColliding(reservation, savedReservation))
-            {
-                throw new TableNotAvailableException("Dining table with id " + reservation.getDiningTable().getId() + " is not available at the time.");
-            }
+        if (!bookingGuard.isAvailable(reservation)) {
+            throw new TableNotAvailableException("Dining table with id " + reservation.getDiningTable().getId() + " is not available at the time.");
         }
     }
-
-    private static boolean isReservationColliding(Reservation requestedReservation, Reservation currentReservation) {
-
-        final LocalDateTime currentReservationBegin = LocalDateTime.of(currentReservation.getReservationDate(), currentReservation.getReservationTime());
-        final LocalDateTime currentReservationEnd = currentReservationBegin.plusHours(currentReservation.getDuration());
-
-        final LocalDateTime requestedReservationBegin = LocalDateTime.of(requestedReservation.getReservationDate(), requestedReservation.getReservationTime());
-        final LocalDateTime requestedReservationEnd = requestedReservationBegin.plusHours(requestedReservation.getDuration());
-
-        return (requestedReservationBegin.isEqual(currentReservationBegin)) ||
-                (requestedReservationBegin.isBefore(currentReservationBegin) && requestedReservationEnd.isAfter(currentReservationBegin)) ||
-                (requestedReservationBegin.isAfter(currentReservationBegin) && requestedReservationBegin.isBefore(currentReservationEnd));
-    }
 }
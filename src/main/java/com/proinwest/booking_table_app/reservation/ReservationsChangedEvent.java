@@ -0,0 +1,10 @@
+package com.proinwest.booking_table_app.reservation;
+
+import java.util.List;
+
+/**
+ * Published by {@link ReservationService} after reservations are saved or deleted, with the slots they occupied
+ * before and after the change. Listeners run after the surrounding transaction, if any, commits.
+ */
+public record ReservationsChangedEvent(List<BookedSlot> slots) {
+}
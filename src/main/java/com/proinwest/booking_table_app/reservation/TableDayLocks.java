@@ -0,0 +1,64 @@
+package com.proinwest.booking_table_app.reservation;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by dining table and reservation date. Bookings of the same table on the same day
+ * are serialized, while bookings of other tables or days almost always take a different stripe.
+ */
+@Component
+public class TableDayLocks {
+    private static final int STRIPES = 256;
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    public TableDayLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    <T> T lock(Integer diningTableId, LocalDate date, Supplier<T> booking) {
+        final Lock lock = locks[stripe(diningTableId, date)];
+        lock.lock();
+        try {
+            return booking.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Locks the table-days of all reservations at once, taking stripes in ascending order so batches cannot deadlock. */
+    <T> T lockAll(Collection<Reservation> reservations, Supplier<T> booking) {
+        final int[] stripes = reservations.stream()
+                .mapToInt(reservation -> stripe(
+                        reservation.getDiningTable() == null ? null : reservation.getDiningTable().getId(),
+                        reservation.getReservationDate()))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            return booking.get();
+        } finally {
+            while (locked > 0) locks[stripes[--locked]].unlock();
+        }
+    }
+
+    private static int stripe(Integer diningTableId, LocalDate date) {
+        final int hash = Objects.hash(diningTableId, date);
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.proinwest.booking_table_app.singleFlight;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers with the same key share one computation. The first caller runs it on its own thread and
+ * hands the result, or the exception, to the others through a {@link CompletableFuture}; they wait for it at most
+ * {@code maxWait} and then compute their own. A max wait of 0 turns sharing off.
+ */
+public final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public V run(K key, Supplier<V> computation) {
+        if (maxWaitNanos <= 0) return compute(computation);
+
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) return join(running, computation);
+
+        // removed before completing, so callers arriving after the computation has finished never get its result
+        final V value;
+        try {
+            value = compute(computation);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    /** Callers of the matching keys arriving from now on start a new computation instead of joining one that may be stale. */
+    public void forget(Predicate<? super K> stale) {
+        inFlight.keySet().removeIf(stale);
+    }
+
+    public SingleFlightStatistics statistics() {
+        return new SingleFlightStatistics(computations.sum(), shared.sum(), timedOut.sum());
+    }
+
+    private V join(CompletableFuture<V> running, Supplier<V> computation) {
+        try {
+            final V value = running.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            shared.increment();
+            return value;
+        } catch (ExecutionException e) {
+            shared.increment();
+            if (e.getCause() instanceof Error error) throw error;
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            return compute(computation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the same request to finish.", e);
+        }
+    }
+
+    private V compute(Supplier<V> computation) {
+        computations.increment();
+        return computation.get();
+    }
+}
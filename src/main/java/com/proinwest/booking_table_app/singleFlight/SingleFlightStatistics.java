@@ -0,0 +1,12 @@
+package com.proinwest.booking_table_app.singleFlight;
+
+/**
+ * Single-flight counters since startup. {@code computations} are the calls that did the work, {@code shared} the
+ * calls served by another one's result and {@code timedOut} the calls that gave up waiting and computed their own.
+ */
+public record SingleFlightStatistics(
+        long computations,
+        long shared,
+        long timedOut
+) {
+}
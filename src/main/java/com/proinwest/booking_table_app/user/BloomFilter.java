@@ -0,0 +1,72 @@
+package com.proinwest.booking_table_app.user;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of strings that answers "maybe present" or "definitely absent" from a fixed bit array. A key sets
+ * {@code hashes} bits derived from two 64-bit hashes, so lookups allocate nothing. Keys can be added concurrently
+ * and never removed.
+ */
+final class BloomFilter {
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /** Filter whose false positive rate stays at {@code falsePositiveRate} up to {@code expectedInsertions} keys. */
+    static BloomFilter sized(long expectedInsertions, double falsePositiveRate) {
+        final long insertions = Math.max(expectedInsertions, 1);
+        final long bits = Math.min(Math.max((long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (LN_2 * LN_2)), 64),
+                64L * Integer.MAX_VALUE);
+        final int hashes = (int) Math.max(Math.round((double) bits / insertions * LN_2), 1);
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String key) {
+        final long hash1 = hash(key);
+        final long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Long.remainderUnsigned(hash1 + i * hash2, bits);
+            words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+    }
+
+    boolean mightContain(String key) {
+        final long hash1 = hash(key);
+        final long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashes; i++) {
+            final long bit = Long.remainderUnsigned(hash1 + i * hash2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** False positive rate at the current fill: the chance that all bits of an absent key are set. */
+    double expectedFalsePositiveRate() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) setBits += Long.bitCount(words.get(i));
+        return Math.pow((double) setBits / bits, hashes);
+    }
+
+    /** FNV-1a over the chars, finished with a 64-bit mix so nearby keys spread over the whole array. */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
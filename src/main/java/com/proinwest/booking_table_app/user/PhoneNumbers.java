@@ -0,0 +1,29 @@
+package com.proinwest.booking_table_app.user;
+
+/**
+ * Format-independent forms of a phone number: "+48 123-456-789" and "48123456789" share the digits "48123456789".
+ * The reversed digits turn a search by the last digits into a prefix match that an index can serve.
+ */
+public final class PhoneNumbers {
+
+    private PhoneNumbers() {
+    }
+
+    /** Digits of the phone number in order, or {@code null} when it has none. */
+    public static String digits(String phoneNumber) {
+        if (phoneNumber == null) return null;
+
+        final StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            final char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        return digits.isEmpty() ? null : digits.toString();
+    }
+
+    /** Digits of the phone number from last to first, or {@code null} when it has none. */
+    public static String reversedDigits(String phoneNumber) {
+        final String digits = digits(phoneNumber);
+        return digits == null ? null : new StringBuilder(digits).reverse().toString();
+    }
+}
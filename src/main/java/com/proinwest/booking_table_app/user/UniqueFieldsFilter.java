@@ -0,0 +1,130 @@
+package com.proinwest.booking_table_app.user;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filters of the logins and emails of all users, so a value no user holds is known to be free without a query.
+ * A possible hit still has to be checked in the database, and the unique constraints catch what this instance has
+ * not seen, e.g. users created on another node. Values are lower-cased, so a case-insensitive collation never turns
+ * a filter miss into a taken value. Changed and deleted values stay in the filters until the next rebuild, which
+ * happens when the insertions outgrow the capacity. Kept current by {@link UserService} of this instance and by
+ * {@link UserIndexRefresher} for users created elsewhere; a value taken there within the refresh interval is caught by
+ * the unique constraint instead.
+ */
+@Component
+public class UniqueFieldsFilter {
+    private static final int REBUILD_CHUNK = 10_000;
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private volatile Filters filters;
+
+    private final LongAdder queriesSkipped = new LongAdder();
+    private final LongAdder queriesRun = new LongAdder();
+    private final LongAdder signupLookups = new LongAdder();
+    private final LongAdder signupValuesTaken = new LongAdder();
+    private final LongAdder signupFalsePositives = new LongAdder();
+
+    public UniqueFieldsFilter(UserRepository userRepository,
+                              @Value("${users.unique-filter.expected-users:100000}") long expectedUsers,
+                              @Value("${users.unique-filter.false-positive-rate:0.01}") double falsePositiveRate)
+    {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /** Loads all users into new filters sized for at least twice their number. */
+    @PostConstruct
+    public synchronized void rebuild() {
+        final long capacity = Math.max(expectedUsers, 2 * userRepository.count());
+        final Filters rebuilt = new Filters(BloomFilter.sized(capacity, falsePositiveRate),
+                BloomFilter.sized(capacity, falsePositiveRate), capacity, new AtomicLong());
+
+        long afterId = Long.MIN_VALUE;
+        List<UserDTO> chunk;
+        do {
+            chunk = userRepository.findAllSearchFieldsAfter(afterId, Limit.of(REBUILD_CHUNK));
+            chunk.forEach(user -> rebuilt.put(user.login(), user.email()));
+            if (!chunk.isEmpty()) afterId = chunk.getLast().id();
+        } while (chunk.size() == REBUILD_CHUNK);
+
+        filters = rebuilt;
+    }
+
+    boolean mightContainLogin(String login) {
+        return login != null && filters.logins.mightContain(normalize(login));
+    }
+
+    boolean mightContainEmail(String email) {
+        return email != null && filters.emails.mightContain(normalize(email));
+    }
+
+    /** Adds the values; values the filters already hold do not count towards the capacity. */
+    synchronized void put(String login, String email) {
+        if (filters.put(login, email) > filters.capacity) rebuild();
+    }
+
+    /** Counts a uniqueness check that needed no query because neither value can be taken. */
+    void recordSkipped() {
+        queriesSkipped.increment();
+    }
+
+    /**
+     * Counts a uniqueness check that went to the database. Only on signups is a filter hit for a free value
+     * a false positive: on updates it may be the user's own value, which the query leaves out.
+     */
+    void recordQueried(boolean signup, boolean loginMightBeTaken, boolean loginTaken, boolean emailMightBeTaken, boolean emailTaken) {
+        queriesRun.increment();
+        if (!signup) return;
+
+        signupLookups.add(2);
+        if (loginTaken) signupValuesTaken.increment();
+        if (emailTaken) signupValuesTaken.increment();
+        if (loginMightBeTaken && !loginTaken) signupFalsePositives.increment();
+        if (emailMightBeTaken && !emailTaken) signupFalsePositives.increment();
+    }
+
+    UniqueFieldsFilterStatistics statistics() {
+        final Filters current = filters;
+        final long falsePositives = signupFalsePositives.sum();
+        final long freeValues = signupLookups.sum() - signupValuesTaken.sum();
+
+        return new UniqueFieldsFilterStatistics(
+                current.capacity,
+                current.insertions.get(),
+                falsePositiveRate,
+                Math.max(current.logins.expectedFalsePositiveRate(), current.emails.expectedFalsePositiveRate()),
+                queriesSkipped.sum(),
+                queriesRun.sum(),
+                falsePositives,
+                freeValues == 0 ? 0 : (double) falsePositives / freeValues
+        );
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter logins, BloomFilter emails, long capacity, AtomicLong insertions) {
+
+        private long put(String login, String email) {
+            final boolean loginAdded = login != null && !logins.mightContain(normalize(login));
+            final boolean emailAdded = email != null && !emails.mightContain(normalize(email));
+            if (!loginAdded && !emailAdded) return insertions.get();
+
+            if (loginAdded) logins.put(normalize(login));
+            if (emailAdded) emails.put(normalize(email));
+            return insertions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.proinwest.booking_table_app.user;
+
+/**
+ * Login and email filter counters since startup. {@code expectedFalsePositiveRate} follows from the bits set now;
+ * {@code observedFalsePositiveRate} is the share of free values on signups that the filters reported as possibly taken.
+ */
+public record UniqueFieldsFilterStatistics(
+        long capacity,
+        long insertions,
+        double configuredFalsePositiveRate,
+        double expectedFalsePositiveRate,
+        long queriesSkipped,
+        long queriesRun,
+        long falsePositives,
+        double observedFalsePositiveRate
+) {
+}
@@ -0,0 +1,7 @@
+package com.proinwest.booking_table_app.user;
+
+/**
+ * Which of the unique fields being validated another user already holds.
+ */
+public record UniqueFieldsTaken(boolean login, boolean email) {
+}
@@ -1,8 +1,10 @@
 package com.proinwest.booking_table_app.user;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proinwest.booking_table_app.idGenerator.PooledId;
 import com.proinwest.booking_table_app.reservation.Reservation;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -10,13 +12,17 @@ import lombok.Setter;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_user_phone_digits", columnList = "phone_digits"),
+        @Index(name = "idx_user_phone_digits_reversed", columnList = "phone_digits_reversed")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class User {
 
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @PooledId
     private Long id;
     @Column (unique = true)
     private String login;
@@ -26,10 +32,22 @@ public class User {
     @Column (unique = true)
     private String email;
     private String phoneNumber;
+    @Setter (AccessLevel.NONE)
+    @JsonIgnore
+    private String phoneDigits;
+    @Setter (AccessLevel.NONE)
+    @JsonIgnore
+    private String phoneDigitsReversed;
 
     @OneToMany (mappedBy = "user")
     @JsonIgnore
     List<Reservation> reservations;
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+        this.phoneDigits = PhoneNumbers.digits(phoneNumber);
+        this.phoneDigitsReversed = PhoneNumbers.reversedDigits(phoneNumber);
+    }
 }
 
 
@@ -0,0 +1,98 @@
+package com.proinwest.booking_table_app.user;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Type-ahead lookup of users by the beginning of their login, first name, last name or email.
+ * Every field is a lower-cased key in a skip list sorted by key and user id, so a prefix is one seek
+ * followed by reading the first matching keys; the users themselves are served from memory.
+ * Reads take no locks. Kept current by {@link UserService} of this instance and by {@link UserIndexRefresher}
+ * for writes made elsewhere.
+ */
+@Component
+public class UserAutocomplete implements UserIndex {
+    private static final int REBUILD_CHUNK = 10_000;
+    private static final Comparator<Key> BY_TEXT = Comparator
+            .comparing(Key::text)
+            .thenComparingLong(Key::userId);
+
+    private final UserRepository userRepository;
+    private final NavigableSet<Key> keys = new ConcurrentSkipListSet<>(BY_TEXT);
+    private final Map<Long, UserDTO> usersById = new ConcurrentHashMap<>();
+
+    public UserAutocomplete(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        keys.clear();
+        usersById.clear();
+
+        long afterId = Long.MIN_VALUE;
+        List<UserDTO> chunk;
+        do {
+            chunk = userRepository.findAllSearchFieldsAfter(afterId, Limit.of(REBUILD_CHUNK));
+            chunk.forEach(this::put);
+            if (!chunk.isEmpty()) afterId = chunk.getLast().id();
+        } while (chunk.size() == REBUILD_CHUNK);
+    }
+
+    /** Up to {@code limit} distinct users with a field starting with the prefix, ordered by the matching field. */
+    List<UserDTO> complete(String prefix, int limit) {
+        final String normalized = normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+
+        final Set<Long> userIds = new LinkedHashSet<>();
+        for (Key key : keys.tailSet(new Key(normalized, Long.MIN_VALUE))) {
+            if (!key.text().startsWith(normalized) || userIds.size() == limit) break;
+            userIds.add(key.userId());
+        }
+
+        return userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public synchronized void put(UserDTO user) {
+        if (user.equals(usersById.get(user.id()))) return;
+        remove(user.id());
+        usersById.put(user.id(), user);
+        keys.addAll(keysOf(user));
+    }
+
+    @Override
+    public synchronized void remove(Long id) {
+        final UserDTO previous = usersById.remove(id);
+        if (previous != null) keysOf(previous).forEach(keys::remove);
+    }
+
+    @Override
+    public long[] ids() {
+        return usersById.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static List<Key> keysOf(UserDTO user) {
+        final List<Key> userKeys = new ArrayList<>(4);
+        for (String field : new String[]{user.login(), user.firstName(), user.lastName(), user.email()}) {
+            final String text = normalize(field);
+            if (!text.isEmpty()) userKeys.add(new Key(text, user.id()));
+        }
+        return userKeys;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String text, long userId) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.proinwest.booking_table_app.user;
+
+/** Published by {@link UserService} after a user's details are changed. */
+public record UserChangedEvent(Long userId) {
+}
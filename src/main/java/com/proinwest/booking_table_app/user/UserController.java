@@ -1,5 +1,6 @@
 package com.proinwest.booking_table_app.user;
 
+import com.proinwest.booking_table_app.pagination.CursorPage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,11 +17,22 @@ public class UserController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> allUsers = userService.getAllUsers();
+    public ResponseEntity<CursorPage<UserDTO>> getAllUsers(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsers = userService.getAllUsers(cursor, size);
         return ResponseEntity.ok(allUsers);
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<UserDTO>> autocompleteUsers(@RequestParam String prefix, @RequestParam(required = false) Integer limit) {
+        List<UserDTO> suggestedUsers = userService.autocomplete(prefix, limit);
+        return ResponseEntity.ok(suggestedUsers);
+    }
+
+    @GetMapping("/unique-filter-statistics")
+    public ResponseEntity<UniqueFieldsFilterStatistics> getUniqueFieldsFilterStatistics() {
+        return ResponseEntity.ok(userService.uniqueFieldsFilterStatistics());
+    }
+
     @GetMapping("{id}")
     public ResponseEntity<UserDTO> getUser(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUser(id));
@@ -52,38 +64,38 @@ public class UserController {
     }
 
     @GetMapping("/search/login/{login}")
-    public ResponseEntity<List<UserDTO>> findAllUsersByLogin(@PathVariable String login) {
-        List<UserDTO> allUsersByLogin = userService.findAllByLogin(login);
+    public ResponseEntity<CursorPage<UserDTO>> findAllUsersByLogin(@PathVariable String login, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsersByLogin = userService.findAllByLogin(login, cursor, size);
         return ResponseEntity.ok(allUsersByLogin);
     }
 
     @GetMapping("/search/firstname/{firstName}")
-    public ResponseEntity<List<UserDTO>> findAllUsersByFirstName(@PathVariable String firstName) {
-        List<UserDTO> allUsersByFirstName = userService.findAllByFirstName(firstName);
+    public ResponseEntity<CursorPage<UserDTO>> findAllUsersByFirstName(@PathVariable String firstName, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsersByFirstName = userService.findAllByFirstName(firstName, cursor, size);
         return ResponseEntity.ok(allUsersByFirstName);
     }
 
     @GetMapping("/search/lastname/{lastName}")
-    public ResponseEntity<List<UserDTO>> findAllUsersByLastname(@PathVariable String lastName) {
-        List<UserDTO> allUsersByLastName = userService.findAllByLastName(lastName);
+    public ResponseEntity<CursorPage<UserDTO>> findAllUsersByLastname(@PathVariable String lastName, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsersByLastName = userService.findAllByLastName(lastName, cursor, size);
         return ResponseEntity.ok(allUsersByLastName);
     }
 
     @GetMapping("/search/email/{email}")
-    public ResponseEntity<List<UserDTO>> findAllUsersByEmail(@PathVariable String email) {
-        List<UserDTO> allUsersByEmail = userService.findAllByEmail(email);
+    public ResponseEntity<CursorPage<UserDTO>> findAllUsersByEmail(@PathVariable String email, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsersByEmail = userService.findAllByEmail(email, cursor, size);
         return ResponseEntity.ok(allUsersByEmail);
     }
 
     @GetMapping("/search/phone/{phoneNumber}")
-    public ResponseEntity<List<UserDTO>> findAllUsersByPhoneNumber(@PathVariable String phoneNumber) {
-        List<UserDTO> allUsersByPhoneNumber = userService.findAllByPhoneNumber(phoneNumber);
+    public ResponseEntity<CursorPage<UserDTO>> findAllUsersByPhoneNumber(@PathVariable String phoneNumber, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsersByPhoneNumber = userService.findAllByPhoneNumber(phoneNumber, cursor, size);
         return ResponseEntity.ok(allUsersByPhoneNumber);
     }
 
     @GetMapping("/search/{name}")
-    public ResponseEntity<List<UserDTO>> findAllUsersByAnyString(@PathVariable String name) {
-        List<UserDTO> allUsersByAnyString = userService.findAllByAnyString(name);
+    public ResponseEntity<CursorPage<UserDTO>> findAllUsersByAnyString(@PathVariable String name, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<UserDTO> allUsersByAnyString = userService.findAllByAnyString(name, cursor, size);
         return ResponseEntity.ok(allUsersByAnyString);
     }
 }
@@ -0,0 +1,13 @@
+package com.proinwest.booking_table_app.user;
+
+/** In-memory view of the users' searchable fields, kept current by {@link UserService} and {@link UserIndexRefresher}. */
+interface UserIndex {
+
+    /** Adds the user or replaces its fields; a user whose fields are unchanged is left as it is. */
+    void put(UserDTO user);
+
+    void remove(Long id);
+
+    /** Ids of all indexed users in ascending order. */
+    long[] ids();
+}
@@ -0,0 +1,81 @@
+package com.proinwest.booking_table_app.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Brings the {@link UserIndex user indexes} in line with the database every {@code users.index.refresh-interval},
+ * so users added, changed or deleted by other instances show up in searches within that interval, and their logins and
+ * emails in the {@link UniqueFieldsFilter}. Writes of this instance are indexed by {@link UserService} right away. A refresh reads all users in id order, once for all indexes,
+ * puts the ones whose fields differ and removes the indexed ids the database no longer has. Users indexed while it
+ * runs are kept; a local write racing the read of its chunk may be undone until the next refresh.
+ */
+@Component
+public class UserIndexRefresher implements SchedulingConfigurer {
+    static final int REFRESH_CHUNK = 10_000;
+
+    private final UserRepository userRepository;
+    private final List<UserIndex> userIndexes;
+    private final UniqueFieldsFilter uniqueFieldsFilter;
+    private final Duration refreshInterval;
+
+    public UserIndexRefresher(UserRepository userRepository,
+                              UserSearchIndex userSearchIndex,
+                              UserAutocomplete userAutocomplete,
+                              UniqueFieldsFilter uniqueFieldsFilter,
+                              @Value("${users.index.refresh-interval:5m}") Duration refreshInterval)
+    {
+        this.userRepository = userRepository;
+        this.userIndexes = List.of(userSearchIndex, userAutocomplete);
+        this.uniqueFieldsFilter = uniqueFieldsFilter;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::refresh, refreshInterval, refreshInterval));
+    }
+
+    public synchronized void refresh() {
+        final long[][] indexedIds = new long[userIndexes.size()][];
+        final int[] positions = new int[userIndexes.size()];
+        for (int i = 0; i < userIndexes.size(); i++) {
+            indexedIds[i] = userIndexes.get(i).ids();
+        }
+
+        long afterId = Long.MIN_VALUE;
+        List<UserDTO> chunk;
+        do {
+            chunk = userRepository.findAllSearchFieldsAfter(afterId, Limit.of(REFRESH_CHUNK));
+            chunk.forEach(user -> uniqueFieldsFilter.put(user.login(), user.email()));
+            final long throughId = chunk.size() == REFRESH_CHUNK ? chunk.getLast().id() : Long.MAX_VALUE;
+            for (int i = 0; i < userIndexes.size(); i++) {
+                final UserIndex userIndex = userIndexes.get(i);
+                chunk.forEach(userIndex::put);
+                positions[i] = removeMissing(userIndex, indexedIds[i], positions[i], chunk, throughId);
+            }
+            if (!chunk.isEmpty()) afterId = chunk.getLast().id();
+        } while (chunk.size() == REFRESH_CHUNK);
+    }
+
+    /**
+     * Removes the ids indexed before the refresh, up to {@code throughId}, that the chunk does not hold.
+     * Both are in id order, so this is one merge; returns the position of the first id after {@code throughId}.
+     */
+    private static int removeMissing(UserIndex userIndex, long[] indexedIds, int position, List<UserDTO> chunk, long throughId) {
+        int next = 0;
+        for (; position < indexedIds.length && indexedIds[position] <= throughId; position++) {
+            final long id = indexedIds[position];
+            while (next < chunk.size() && chunk.get(next).id() < id) next++;
+            if (next == chunk.size() || chunk.get(next).id() != id) userIndex.remove(id);
+        }
+        return position;
+    }
+}
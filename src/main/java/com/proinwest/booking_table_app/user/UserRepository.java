@@ -1,5 +1,9 @@
 package com.proinwest.booking_table_app.user;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -7,18 +11,18 @@ import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    List<User> findAllByLoginContainingIgnoreCase(String login);
-    List<User> findAllByFirstNameContainingIgnoreCase(String firstName);
-    List<User> findAllByLastNameContainingIgnoreCase(String lastName);
-    List<User> findAllByEmailContainingIgnoreCase(String email);
-    List<User> findAllByPhoneNumberContaining(String phoneNumber);
-    List<User> findAllByLoginContainingOrFirstNameContainingOrLastNameContainingOrEmailContaining(String login, String firstName, String lastName, String email);
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<User> findAllByPhoneDigitsReversedStartingWith(String phoneDigitsReversed, ScrollPosition position, Sort sort, Limit limit);
     boolean existsByEmail(String email);
     boolean existsByLogin(String login);
 
-    @Query(value = "SELECT u.login FROM user u WHERE u.id = :id", nativeQuery = true)
-    String findLoginById(Long id);
+    @Query("SELECT new com.proinwest.booking_table_app.user.UserDTO(u.id, u.login, u.firstName, u.lastName, u.email, u.phoneNumber) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDTO> findAllSearchFieldsAfter(Long afterId, Limit limit);
 
-    @Query(value = "SELECT u.email FROM user u WHERE u.id = :id", nativeQuery = true)
-    String findEmailById(Long id);
+    /** One row per other user holding the login or the email; {@code id} is {@code null} for a new user. */
+    @Query("SELECT new com.proinwest.booking_table_app.user.UniqueFieldsTaken(" +
+            "CASE WHEN u.login = :login THEN true ELSE false END, CASE WHEN u.email = :email THEN true ELSE false END) " +
+            "FROM User u WHERE (u.login = :login OR u.email = :email) AND (:id IS NULL OR u.id <> :id)")
+    List<UniqueFieldsTaken> findUniqueFieldsTakenByOthers(Long id, String login, String email);
 }
@@ -0,0 +1,321 @@
+package com.proinwest.booking_table_app.user;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the searchable fields of all users, so substring searches do not scan the user table.
+ * Every lower-cased trigram maps to the sorted slots of the users that contain it in any field. A search intersects
+ * the posting lists of the fragment's trigrams and checks the remaining candidates against the searched fields.
+ * Fragments shorter than a trigram fall back to a scan of the in-memory fields. The index is kept current by
+ * {@link UserService} of this instance and by {@link UserIndexRefresher} for writes made elsewhere. Slots of removed
+ * users are left empty until there are over a thousand and more than a quarter of all slots; then the live users are
+ * re-indexed into fresh slots.
+ */
+@Component
+public class UserSearchIndex implements UserIndex {
+    private static final int GRAM = 3;
+    private static final int REBUILD_CHUNK = 10_000;
+    private static final int COMPACT_MIN_EMPTY_SLOTS = 1024;
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private long[] idBySlot = new long[0];
+    private String[][] fieldsBySlot = new String[0][];
+    private int slots;
+    private int emptySlots;
+    private boolean slotsInIdOrder = true;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /** Reloads the index from the database, e.g. after a bulk import that bypassed {@link UserService}. */
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+
+            long afterId = Long.MIN_VALUE;
+            List<UserDTO> chunk;
+            do {
+                chunk = userRepository.findAllSearchFieldsAfter(afterId, Limit.of(REBUILD_CHUNK));
+                chunk.forEach(this::put);
+                if (!chunk.isEmpty()) afterId = chunk.getLast().id();
+            } while (chunk.size() == REBUILD_CHUNK);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids greater than {@code afterId} of users whose {@code field} contains {@code fragment}, ignoring case,
+     * in ascending order and at most {@code limit} of them.
+     */
+    public List<Long> search(Field field, String fragment, long afterId, int limit) {
+        final String needle = fragment.toLowerCase(Locale.ROOT);
+        final PriorityQueue<Long> smallestIds = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) {
+                for (int slot = 0; slot < slots && !isComplete(smallestIds, limit); slot++) {
+                    collect(slot, field, needle, afterId, limit, smallestIds);
+                }
+            } else {
+                final Postings[] postings = postingsOf(needle);
+                if (postings == null) return List.of();
+
+                final Postings rarest = postings[0];
+                for (int i = 0; i < rarest.size && !isComplete(smallestIds, limit); i++) {
+                    final int slot = rarest.slots[i];
+                    if (containedInAll(postings, slot)) collect(slot, field, needle, afterId, limit, smallestIds);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        final Long[] ids = smallestIds.toArray(Long[]::new);
+        Arrays.sort(ids);
+        return List.of(ids);
+    }
+
+    @Override
+    public void put(UserDTO user) {
+        final String[] fields = fieldsOf(user);
+
+        lock.writeLock().lock();
+        try {
+            final Integer existingSlot = slotById.get(user.id());
+            if (existingSlot == null) {
+                index(user.id(), fields);
+            } else if (!Arrays.equals(fieldsBySlot[existingSlot], fields)) {
+                unindex(existingSlot);
+                post(existingSlot, fields);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            final Integer slot = slotById.remove(id);
+            if (slot == null) return;
+
+            unindex(slot);
+            fieldsBySlot[slot] = null;
+            if (++emptySlots >= COMPACT_MIN_EMPTY_SLOTS && emptySlots * 4 > slots) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long[] ids() {
+        lock.readLock().lock();
+        try {
+            return slotById.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Slots in use, including the empty slots of removed users. */
+    int slots() {
+        lock.readLock().lock();
+        try {
+            return slots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(long id, String[] fields) {
+        final int slot = slots++;
+        if (slot == idBySlot.length) grow();
+        if (slot > 0 && idBySlot[slot - 1] > id) slotsInIdOrder = false;
+        idBySlot[slot] = id;
+        slotById.put(id, slot);
+        post(slot, fields);
+    }
+
+    private void post(int slot, String[] fields) {
+        fieldsBySlot[slot] = fields;
+        for (long trigram : trigramsOf(fields)) {
+            postingsByTrigram.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+        }
+    }
+
+    /** Re-indexes the live users into consecutive slots in id order, which also restores early termination of searches. */
+    private void compact() {
+        final long[] ids = idBySlot;
+        final String[][] fields = fieldsBySlot;
+        final Integer[] liveSlots = slotById.values().toArray(Integer[]::new);
+        Arrays.sort(liveSlots, Comparator.comparingLong(slot -> ids[slot]));
+
+        clear();
+        for (int slot : liveSlots) {
+            index(ids[slot], fields[slot]);
+        }
+    }
+
+    private void clear() {
+        postingsByTrigram.clear();
+        slotById.clear();
+        idBySlot = new long[0];
+        fieldsBySlot = new String[0][];
+        slots = 0;
+        emptySlots = 0;
+        slotsInIdOrder = true;
+    }
+
+    private void collect(int slot, Field field, String needle, long afterId, int limit, PriorityQueue<Long> smallestIds) {
+        final long id = idBySlot[slot];
+        final String[] fields = fieldsBySlot[slot];
+        if (fields == null || id <= afterId || !field.matches(fields, needle)) return;
+
+        if (smallestIds.size() < limit) {
+            smallestIds.add(id);
+        } else if (!smallestIds.isEmpty() && id < smallestIds.peek()) {
+            smallestIds.poll();
+            smallestIds.add(id);
+        }
+    }
+
+    /** While slots are in id order, later candidates cannot displace the ids found so far. */
+    private boolean isComplete(PriorityQueue<Long> smallestIds, int limit) {
+        return slotsInIdOrder && smallestIds.size() == limit;
+    }
+
+    /** Posting lists of all trigrams of the needle, rarest first, or {@code null} when one of them is absent. */
+    private Postings[] postingsOf(String needle) {
+        final long[] trigrams = trigramsOf(new String[]{needle});
+        final Postings[] postings = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            postings[i] = postingsByTrigram.get(trigrams[i]);
+            if (postings[i] == null) return null;
+        }
+        Arrays.sort(postings, Comparator.comparingInt(posting -> posting.size));
+        return postings;
+    }
+
+    private static boolean containedInAll(Postings[] postings, int slot) {
+        for (int i = 1; i < postings.length; i++) {
+            if (Arrays.binarySearch(postings[i].slots, 0, postings[i].size, slot) < 0) return false;
+        }
+        return true;
+    }
+
+    private void unindex(int slot) {
+        for (long trigram : trigramsOf(fieldsBySlot[slot])) {
+            final Postings postings = postingsByTrigram.get(trigram);
+            postings.remove(slot);
+            if (postings.size == 0) postingsByTrigram.remove(trigram);
+        }
+    }
+
+    private void grow() {
+        final int capacity = Math.max(1024, idBySlot.length * 2);
+        idBySlot = Arrays.copyOf(idBySlot, capacity);
+        fieldsBySlot = Arrays.copyOf(fieldsBySlot, capacity);
+    }
+
+    private static String[] fieldsOf(UserDTO user) {
+        return new String[]{
+                lowerCase(user.login()),
+                lowerCase(user.firstName()),
+                lowerCase(user.lastName()),
+                lowerCase(user.email())
+        };
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /** Distinct trigrams of the fields, each packed as three 16-bit chars. */
+    private static long[] trigramsOf(String[] fields) {
+        int count = 0;
+        for (String field : fields) {
+            if (field != null) count += Math.max(0, field.length() - GRAM + 1);
+        }
+
+        final long[] trigrams = new long[count];
+        int next = 0;
+        for (String field : fields) {
+            if (field == null) continue;
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                trigrams[next++] = (long) field.charAt(i) << 32 | (long) field.charAt(i + 1) << 16 | field.charAt(i + 2);
+            }
+        }
+
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) trigrams[distinct++] = trigrams[i];
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    public enum Field {
+        LOGIN(0),
+        FIRST_NAME(1),
+        LAST_NAME(2),
+        EMAIL(3),
+        /** Login, first name, last name or email. */
+        ANY(0, 1, 2, 3);
+
+        private final int[] columns;
+
+        Field(int... columns) {
+            this.columns = columns;
+        }
+
+        private boolean matches(String[] fields, String needle) {
+            for (int column : columns) {
+                if (fields[column] != null && fields[column].contains(needle)) return true;
+            }
+            return false;
+        }
+    }
+
+    /** Sorted slots of the users containing one trigram. */
+    private static final class Postings {
+        private int[] slots = new int[2];
+        private int size;
+
+        private void add(int slot) {
+            int index = size;
+            if (size > 0 && slots[size - 1] >= slot) {
+                index = Arrays.binarySearch(slots, 0, size, slot);
+                if (index >= 0) return;
+                index = -index - 1;
+            }
+
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        private void remove(int slot) {
+            final int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) return;
+
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+        }
+    }
+}
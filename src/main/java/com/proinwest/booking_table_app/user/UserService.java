@@ -3,15 +3,24 @@ package com.proinwest.booking_table_app.user;
 import com.proinwest.booking_table_app.exceptions.InvalidInputException;
 import com.proinwest.booking_table_app.exceptions.NotFoundException;
 import com.proinwest.booking_table_app.exceptions.ValidationException;
+import com.proinwest.booking_table_app.pagination.CursorPage;
+import com.proinwest.booking_table_app.pagination.KeysetCursor;
 import com.proinwest.booking_table_app.reservation.ReservationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.StreamSupport;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -30,28 +39,46 @@ public class UserService {
     public static final String INPUT_IS_MISSING = "Input is missing.";
     public static final String VALID_PHONE_NUMBER = "Examples of valid number are: "
             + "123456789, " + "123 456 789, " + "123-456-7890, " + "+48 123 456 789, " + "+123-123-456-7890";
+    public static final String PHONE_SUFFIX_MESSAGE = "Phone number search should contain at least one digit.";
+    static final int AUTOCOMPLETE_DEFAULT_LIMIT = 10;
+    static final int AUTOCOMPLETE_MAX_LIMIT = 50;
+    static final String AUTOCOMPLETE_LIMIT_MESSAGE = "Limit should be between 1 and " + AUTOCOMPLETE_MAX_LIMIT + ".";
+    static final KeysetCursor USER_CURSOR = new KeysetCursor(new KeysetCursor.Key("id", Long::valueOf));
 
     private final UserRepository userRepository;
     private final UserDTOMapper userDTOMapper;
     private final ReservationService reservationService;
     private final UserValidator userValidator;
-
-    public UserService(UserRepository userRepository, UserDTOMapper userDTOMapper, @Lazy ReservationService reservationService, UserValidator userValidator) {
+    private final UserSearchIndex userSearchIndex;
+    private final UserAutocomplete userAutocomplete;
+    private final UniqueFieldsFilter uniqueFieldsFilter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserService(UserRepository userRepository,
+                       UserDTOMapper userDTOMapper,
+                       @Lazy ReservationService reservationService,
+                       UserValidator userValidator,
+                       UserSearchIndex userSearchIndex,
+                       UserAutocomplete userAutocomplete,
+                       UniqueFieldsFilter uniqueFieldsFilter,
+                       ApplicationEventPublisher eventPublisher)
+    {
         this.userRepository = userRepository;
         this.userDTOMapper = userDTOMapper;
         this.reservationService = reservationService;
         this.userValidator = userValidator;
+        this.userSearchIndex = userSearchIndex;
+        this.userAutocomplete = userAutocomplete;
+        this.uniqueFieldsFilter = uniqueFieldsFilter;
+        this.eventPublisher = eventPublisher;
     }
 
-    List<UserDTO> getAllUsers() {
-        final Iterable<User> allUsers = userRepository.findAll();
-        final List<UserDTO> allUsersList = StreamSupport.stream(allUsers.spliterator(), false)
-                .map(userDTOMapper)
-                .toList();
+    CursorPage<UserDTO> getAllUsers(String cursor, Integer size) {
+        final Window<User> allUsers = userRepository.findAllBy(USER_CURSOR.position(cursor), USER_CURSOR.sort(), CursorPage.limit(size));
 
-        if (allUsersList.isEmpty()) throw new NotFoundException("There are no users in database.");
+        if (allUsers.isEmpty() && cursor == null) throw new NotFoundException("There are no users in database.");
 
-        return allUsersList;
+        return CursorPage.of(allUsers, userDTOMapper, USER_CURSOR);
     }
 
     UserDTO getUser(Long id) {
@@ -64,7 +91,7 @@ public class UserService {
         validateUser(user);
 
         final User savedUser = userRepository.save(user);
-        return userDTOMapper.apply(savedUser);
+        return indexed(userDTOMapper.apply(savedUser));
     }
 
     URI location(User user) {
@@ -82,7 +109,8 @@ public class UserService {
         validateUser(userToUpdate, id);
 
         final User savedUser = userRepository.save(userToUpdate);
-        return userDTOMapper.apply(savedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return indexed(userDTOMapper.apply(savedUser));
     }
 
     UserDTO partiallyUpdateUser(Long id, User user) {
@@ -93,7 +121,8 @@ public class UserService {
         validateUser(userToUpdate, id);
 
         final User savedUser = userRepository.save(userToUpdate);
-        return userDTOMapper.apply(savedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return indexed(userDTOMapper.apply(savedUser));
     }
 
     void deleteUser(Long id) {
@@ -103,105 +132,135 @@ public class UserService {
             throw new InvalidInputException("User with id " + id + " can not be deleted because he has at least one reservation assigned.");
 
         userRepository.deleteById(id);
+        userSearchIndex.remove(id);
+        userAutocomplete.remove(id);
     }
 
-    List<UserDTO> findAllByLogin(String loginFragment) {
+    CursorPage<UserDTO> findAllByLogin(String loginFragment, String cursor, Integer size) {
         if (loginFragment == null) throw new InvalidInputException(INPUT_IS_MISSING);
 
-        final List<UserDTO> allByLogin = userRepository.findAllByLoginContainingIgnoreCase(loginFragment)
-                .stream()
-                .map(userDTOMapper)
-                .toList();
+        final Window<User> allByLogin = search(UserSearchIndex.Field.LOGIN, loginFragment, cursor, size);
 
-        if (allByLogin.isEmpty()) throw new NotFoundException("There are no users containing login: " + loginFragment);
+        if (allByLogin.isEmpty() && cursor == null) throw new NotFoundException("There are no users containing login: " + loginFragment);
 
-        return allByLogin;
+        return CursorPage.of(allByLogin, userDTOMapper, USER_CURSOR);
     }
 
-    List<UserDTO> findAllByFirstName(String firstNameFragment) {
+    CursorPage<UserDTO> findAllByFirstName(String firstNameFragment, String cursor, Integer size) {
         if (firstNameFragment == null) throw new InvalidInputException(INPUT_IS_MISSING);
 
-        final List<UserDTO> allByFirstName = userRepository.findAllByFirstNameContainingIgnoreCase(firstNameFragment)
-                .stream()
-                .map(userDTOMapper)
-                .toList();
+        final Window<User> allByFirstName = search(UserSearchIndex.Field.FIRST_NAME, firstNameFragment, cursor, size);
 
-        if (allByFirstName.isEmpty()) throw new NotFoundException("There are no users containing first name: " + firstNameFragment);
+        if (allByFirstName.isEmpty() && cursor == null) throw new NotFoundException("There are no users containing first name: " + firstNameFragment);
 
-        return allByFirstName;
+        return CursorPage.of(allByFirstName, userDTOMapper, USER_CURSOR);
     }
 
-    List<UserDTO> findAllByLastName(String lastNameFragment) {
+    CursorPage<UserDTO> findAllByLastName(String lastNameFragment, String cursor, Integer size) {
         if (lastNameFragment == null) throw new NotFoundException(INPUT_IS_MISSING);
 
-        final List<UserDTO> allByLastName = userRepository.findAllByLastNameContainingIgnoreCase(lastNameFragment)
-                .stream()
-                .map(userDTOMapper)
-                .toList();
+        final Window<User> allByLastName = search(UserSearchIndex.Field.LAST_NAME, lastNameFragment, cursor, size);
 
-        if (allByLastName.isEmpty()) throw new NotFoundException("There are no users containing last name: " + lastNameFragment);
+        if (allByLastName.isEmpty() && cursor == null) throw new NotFoundException("There are no users containing last name: " + lastNameFragment);
 
-        return allByLastName;
+        return CursorPage.of(allByLastName, userDTOMapper, USER_CURSOR);
     }
 
-    List<UserDTO> findAllByEmail(String emailFragment) {
+    CursorPage<UserDTO> findAllByEmail(String emailFragment, String cursor, Integer size) {
         if (emailFragment == null) throw new InvalidInputException(INPUT_IS_MISSING);
 
-        final List<UserDTO> allByEmail = userRepository.findAllByEmailContainingIgnoreCase(emailFragment)
-                .stream()
-                .map(userDTOMapper)
-                .toList();
+        final Window<User> allByEmail = search(UserSearchIndex.Field.EMAIL, emailFragment, cursor, size);
 
-        if (allByEmail.isEmpty()) throw new NotFoundException("There are no users containing email: " + emailFragment);
+        if (allByEmail.isEmpty() && cursor == null) throw new NotFoundException("There are no users containing email: " + emailFragment);
 
-        return allByEmail;
+        return CursorPage.of(allByEmail, userDTOMapper, USER_CURSOR);
     }
 
-    List<UserDTO> findAllByPhoneNumber(String phoneNumberFragment) {
-        if (phoneNumberFragment.isBlank()) throw new InvalidInputException(INPUT_IS_MISSING);
+    /** Users whose phone number ends with the digits of {@code phoneNumberSuffix}, whatever the formatting of either. */
+    CursorPage<UserDTO> findAllByPhoneNumber(String phoneNumberSuffix, String cursor, Integer size) {
+        final String reversedDigits = PhoneNumbers.reversedDigits(phoneNumberSuffix);
+        if (reversedDigits == null) throw new InvalidInputException(PHONE_SUFFIX_MESSAGE);
 
-        final List<UserDTO> allByPhoneNumber = userRepository.findAllByPhoneNumberContaining(phoneNumberFragment)
-                .stream()
-                .map(userDTOMapper)
-                .toList();
+        final Window<User> allByPhoneNumber = userRepository.findAllByPhoneDigitsReversedStartingWith(reversedDigits,
+                USER_CURSOR.position(cursor), USER_CURSOR.sort(), CursorPage.limit(size));
 
-        if (allByPhoneNumber.isEmpty()) throw new NotFoundException("There are no users containing phone number: " + phoneNumberFragment);
+        if (allByPhoneNumber.isEmpty() && cursor == null) throw new NotFoundException("There are no users with phone number ending with: " + phoneNumberSuffix);
 
-        return allByPhoneNumber;
+        return CursorPage.of(allByPhoneNumber, userDTOMapper, USER_CURSOR);
     }
 
-    List<UserDTO> findAllByAnyString(String nameFragment) {
+    CursorPage<UserDTO> findAllByAnyString(String nameFragment, String cursor, Integer size) {
         if (nameFragment == null) throw new InvalidInputException(INPUT_IS_MISSING);
 
-        final List<UserDTO> allByAnyString = userRepository
-                .findAllByLoginContainingOrFirstNameContainingOrLastNameContainingOrEmailContaining(nameFragment, nameFragment, nameFragment, nameFragment)
-                .stream()
-                .map(userDTOMapper)
-                .toList();
+        final Window<User> allByAnyString = search(UserSearchIndex.Field.ANY, nameFragment, cursor, size);
+
+        if (allByAnyString.isEmpty() && cursor == null) throw new NotFoundException("There are no users containing login, name or email: " + nameFragment);
 
-        if (allByAnyString.isEmpty()) throw new NotFoundException("There are no users containing login, name or email: " + nameFragment);
+        return CursorPage.of(allByAnyString, userDTOMapper, USER_CURSOR);
+    }
 
-        return allByAnyString;
+    UniqueFieldsFilterStatistics uniqueFieldsFilterStatistics() {
+        return uniqueFieldsFilter.statistics();
     }
 
-    String findLoginById(Long id) {
-        return userRepository.findLoginById(id);
+    List<UserDTO> autocomplete(String prefix, Integer limit) {
+        if (prefix == null) throw new InvalidInputException(INPUT_IS_MISSING);
+        if (limit != null && (limit < 1 || limit > AUTOCOMPLETE_MAX_LIMIT)) throw new InvalidInputException(AUTOCOMPLETE_LIMIT_MESSAGE);
+
+        return userAutocomplete.complete(prefix, limit == null ? AUTOCOMPLETE_DEFAULT_LIMIT : limit);
+    }
+
+    private Window<User> search(UserSearchIndex.Field field, String fragment, String cursor, Integer size) {
+        final KeysetScrollPosition position = USER_CURSOR.position(cursor);
+        final int limit = CursorPage.limit(size).max();
+        final List<Long> ids = userSearchIndex.search(field, fragment,
+                position.isInitial() ? Long.MIN_VALUE : (Long) position.getKeys().get("id"), limit + 1);
+        final List<Long> pageIds = ids.subList(0, Math.min(limit, ids.size()));
+
+        final Map<Long, User> usersById = userRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        final List<User> users = pageIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return Window.from(users, index -> ScrollPosition.forward(Map.of("id", users.get(index).getId())), ids.size() > limit);
     }
 
-    String findEmailById(Long id) {
-        return userRepository.findEmailById(id);
+    private UserDTO indexed(UserDTO user) {
+        userSearchIndex.put(user);
+        userAutocomplete.put(user);
+        uniqueFieldsFilter.put(user.login(), user.email());
+        return user;
     }
 
     public boolean existsById(Long id) {
         return userRepository.existsById(id);
     }
 
-    boolean existsByLogin(String login) {
-        return userRepository.existsByLogin(login);
+    public List<User> findAllById(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
     }
 
-    boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+    /**
+     * Checks login and email uniqueness against all users but {@code id}. Values the filters have never seen are free
+     * without a query; otherwise both are checked in one query.
+     */
+    UniqueFieldsTaken findUniqueFieldsTakenByOthers(Long id, String login, String email) {
+        final boolean loginMightBeTaken = uniqueFieldsFilter.mightContainLogin(login);
+        final boolean emailMightBeTaken = uniqueFieldsFilter.mightContainEmail(email);
+        if (!loginMightBeTaken && !emailMightBeTaken) {
+            uniqueFieldsFilter.recordSkipped();
+            return new UniqueFieldsTaken(false, false);
+        }
+
+        boolean loginTaken = false;
+        boolean emailTaken = false;
+        for (UniqueFieldsTaken taken : userRepository.findUniqueFieldsTakenByOthers(id, login, email)) {
+            loginTaken |= taken.login();
+            emailTaken |= taken.email();
+        }
+        uniqueFieldsFilter.recordQueried(id == null, loginMightBeTaken, loginTaken, emailMightBeTaken, emailTaken);
+        return new UniqueFieldsTaken(loginTaken, emailTaken);
     }
 
     private void validateUser(User userToUpdate, Long id) {
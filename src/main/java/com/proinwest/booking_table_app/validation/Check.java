@@ -0,0 +1,38 @@
+package com.proinwest.booking_table_app.validation;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A condition a field value has to meet, with the message reported when it does not.
+ * Messages are built once, when the check is created.
+ */
+public record Check<V>(Predicate<? super V> valid, String message) {
+
+    public static <V> Check<V> of(Predicate<? super V> valid, String message) {
+        return new Check<>(valid, message);
+    }
+
+    /** Not {@code null} and, for strings, not blank. */
+    public static <V> Check<V> required(String message) {
+        return new Check<>(value -> value != null && !(value instanceof String string && string.isBlank()), message);
+    }
+
+    public static Check<String> minLength(int min, String message) {
+        return new Check<>(value -> value.length() >= min, message);
+    }
+
+    public static Check<String> maxLength(int max, String message) {
+        return new Check<>(value -> value.length() <= max, message);
+    }
+
+    /** Matches the whole value against a pattern compiled once, here. */
+    public static Check<String> matches(String regex, String message) {
+        final Pattern pattern = Pattern.compile(regex);
+        return new Check<>(value -> pattern.matcher(value).matches(), message);
+    }
+
+    public static Check<Integer> between(int min, int max, String message) {
+        return new Check<>(value -> value >= min && value <= max, message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.proinwest.booking_table_app.validation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Field rules of one type, built once and shared by all validations. Each field reports the message of its first
+ * failing check, so later checks may assume earlier ones passed, e.g. that the value is not {@code null}.
+ * A valid object yields the shared empty map; an error map is allocated only on the first failure.
+ */
+public final class Rules<T> {
+    private final String[] names;
+    private final Function<? super T, String>[] fields;
+
+    private Rules(String[] names, Function<? super T, String>[] fields) {
+        this.names = names;
+        this.fields = fields;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** Messages of the failing fields by field name; an unmodifiable empty map when all fields are valid. */
+    public Map<String, String> validate(T target) {
+        Map<String, String> errors = Map.of();
+        for (int i = 0; i < fields.length; i++) {
+            final String message = fields[i].apply(target);
+            if (message == null) continue;
+
+            if (errors.isEmpty()) errors = new HashMap<>();
+            errors.put(names[i], message);
+        }
+        return errors;
+    }
+
+    public static final class Builder<T> {
+        private final List<String> names = new ArrayList<>();
+        private final List<Function<? super T, String>> fields = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        @SafeVarargs
+        public final <V> Builder<T> field(String name, Function<? super T, ? extends V> value, Check<? super V>... checks) {
+            final Check<? super V>[] fieldChecks = checks.clone();
+            return rule(name, target -> {
+                final V fieldValue = value.apply(target);
+                for (Check<? super V> check : fieldChecks) {
+                    if (!check.valid().test(fieldValue)) return check.message();
+                }
+                return null;
+            });
+        }
+
+        /**
+         * A field validated by one function returning its message, or {@code null} when valid. For fields whose
+         * checks depend on each other, so the checks run as one call rather than one call each.
+         */
+        public Builder<T> rule(String name, Function<? super T, String> rule) {
+            names.add(name);
+            fields.add(rule);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Rules<T> build() {
+            return new Rules<>(names.toArray(String[]::new), fields.toArray(Function[]::new));
+        }
+    }
+}
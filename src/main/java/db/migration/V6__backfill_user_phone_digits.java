@@ -0,0 +1,42 @@
+package db.migration;
+
+import com.proinwest.booking_table_app.user.PhoneNumbers;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills the phone digit columns added in V5 for existing users. Done in Java rather than SQL so the stored values
+ * come from {@link PhoneNumbers}, the same normalization the application applies, and because H2 has no {@code REVERSE}.
+ */
+public class V6__backfill_user_phone_digits extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        final Connection connection = context.getConnection();
+
+        try (Statement select = connection.createStatement();
+             ResultSet users = select.executeQuery("SELECT id, phone_number FROM user WHERE phone_number IS NOT NULL");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE user SET phone_digits = ?, phone_digits_reversed = ? WHERE id = ?"))
+        {
+            int batched = 0;
+            while (users.next()) {
+                final String phoneNumber = users.getString("phone_number");
+                update.setString(1, PhoneNumbers.digits(phoneNumber));
+                update.setString(2, PhoneNumbers.reversedDigits(phoneNumber));
+                update.setLong(3, users.getLong("id"));
+                update.addBatch();
+
+                if (++batched % BATCH_SIZE == 0) update.executeBatch();
+            }
+            if (batched % BATCH_SIZE != 0) update.executeBatch();
+        }
+    }
+}
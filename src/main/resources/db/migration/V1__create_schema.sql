@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS dining_table (
+    id     INT NOT NULL AUTO_INCREMENT,
+    number INT,
+    seats  INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_dining_table_number UNIQUE (number)
+);
+
+CREATE TABLE IF NOT EXISTS user (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    login        VARCHAR(255),
+    password     VARCHAR(255),
+    first_name   VARCHAR(255),
+    last_name    VARCHAR(255),
+    email        VARCHAR(255),
+    phone_number VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_login UNIQUE (login),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS reservation (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    reservation_date DATE,
+    reservation_time TIME(6),
+    duration         INT,
+    user_id          BIGINT,
+    table_id         INT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservation_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_reservation_dining_table FOREIGN KEY (table_id) REFERENCES dining_table (id)
+);
@@ -0,0 +1,11 @@
+ALTER TABLE reservation ADD COLUMN starts_at DATETIME(6);
+ALTER TABLE reservation ADD COLUMN ends_at DATETIME(6);
+
+UPDATE reservation
+SET starts_at = CAST(CONCAT(reservation_date, ' ', reservation_time) AS DATETIME);
+
+UPDATE reservation
+SET ends_at = TIMESTAMPADD(HOUR, duration, starts_at);
+
+CREATE INDEX idx_reservation_table_starts_at ON reservation (table_id, starts_at, ends_at);
+CREATE INDEX idx_reservation_starts_at ON reservation (starts_at, ends_at, table_id);
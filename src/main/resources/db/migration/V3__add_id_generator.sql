@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'dining_table', COALESCE(MAX(id), 0) FROM dining_table;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'user', COALESCE(MAX(id), 0) FROM user;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'reservation', COALESCE(MAX(id), 0) FROM reservation;
@@ -0,0 +1 @@
+CREATE INDEX idx_reservation_user_starts_at ON reservation (user_id, starts_at, id);
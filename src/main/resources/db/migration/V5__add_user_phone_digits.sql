@@ -0,0 +1,5 @@
+ALTER TABLE user ADD COLUMN phone_digits VARCHAR(20);
+ALTER TABLE user ADD COLUMN phone_digits_reversed VARCHAR(20);
+
+CREATE INDEX idx_user_phone_digits ON user (phone_digits);
+CREATE INDEX idx_user_phone_digits_reversed ON user (phone_digits_reversed);
@@ -0,0 +1,9 @@
+-- Keyset pages are ordered by (starts_at, id): with id right after starts_at the listings read pages in index order.
+-- The new indexes are created before the old ones are dropped, because MySQL needs an index on table_id for its foreign key.
+CREATE INDEX idx_reservation_table_starts_at_id ON reservation (table_id, starts_at, id, ends_at);
+CREATE INDEX idx_reservation_starts_at_id ON reservation (starts_at, id, ends_at, table_id);
+
+DROP INDEX idx_reservation_table_starts_at ON reservation;
+DROP INDEX idx_reservation_starts_at ON reservation;
+
+CREATE INDEX idx_dining_table_seats ON dining_table (seats, id);
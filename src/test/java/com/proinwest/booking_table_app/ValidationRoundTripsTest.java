@@ -0,0 +1,135 @@
+package com.proinwest.booking_table_app;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Queries run by validation of one write request, counted as the select statements of the request.
+ * Invalid fields are rejected before any query; the remaining database checks take one query,
+ * and none for a login and email the unique fields filter has never seen.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:validation_round_trips;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ValidationRoundTripsTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long userId;
+    private Integer tableId;
+
+    @BeforeAll
+    void seed(@Autowired UserRepository userRepository,
+              @Autowired DiningTableRepository diningTableRepository,
+              @Autowired DiningTableService diningTableService) throws Exception
+    {
+        User user = new User();
+        user.setLogin("validated");
+        user.setEmail("validated@example.com");
+        userId = userRepository.save(user).getId();
+
+        DiningTable diningTable = new DiningTable();
+        diningTable.setNumber(1);
+        diningTable.setSeats(4);
+        tableId = diningTableRepository.save(diningTable).getId();
+        diningTableService.existsById(tableId);
+
+        // allocates the pooled ids of both tables, so the measured requests do not
+        mockMvc.perform(json(post("/reservations"), booking(DATE, 11, userId))).andExpect(status().isCreated());
+        mockMvc.perform(json(post("/users"), user("warmup"))).andExpect(status().isCreated());
+    }
+
+    @Test
+    void validBooking() throws Exception {
+        assertEquals(1, selects(json(post("/reservations"), booking(DATE, 12, userId)), status().isCreated()));
+    }
+
+    @Test
+    void bookingWithInvalidFields() throws Exception {
+        assertEquals(0, selects(json(post("/reservations"), booking(LocalDate.now().minusDays(1), 12, userId + 1000)), status().isBadRequest()));
+    }
+
+    @Test
+    void validNewUser() throws Exception {
+        assertEquals(0, selects(json(post("/users"), user("created")), status().isCreated()));
+    }
+
+    @Test
+    void newUserWithInvalidFields() throws Exception {
+        assertEquals(0, selects(json(post("/users"), user("in valid")), status().isBadRequest()));
+    }
+
+    @Test
+    void newUserWithTakenLoginAndEmail() throws Exception {
+        assertEquals(1, selects(json(post("/users"), user("warmup")), status().isBadRequest(),
+                jsonPath("$.login").value("Login warmup already exists. It should be unique."),
+                jsonPath("$.email").value("Email address warmup@example.com already exists. It should be unique.")));
+    }
+
+    @Test
+    void validUserUpdate() throws Exception {
+        assertEquals(1, selects(json(put("/users/" + userId), user("updated")), status().isOk()));
+    }
+
+    @Test
+    void userUpdateWithInvalidFields() throws Exception {
+        assertEquals(1, selects(json(put("/users/" + userId), user("in valid")), status().isBadRequest()));
+    }
+
+    @Test
+    void validDiningTableUpdate() throws Exception {
+        assertEquals(0, selects(json(put("/diningtables/" + tableId), "{\"number\":2,\"seats\":6}"), status().isOk()));
+    }
+
+    private long selects(MockHttpServletRequestBuilder request, ResultMatcher... expectations) throws Exception {
+        RecordingStatementInspector.clear();
+        mockMvc.perform(request).andExpectAll(expectations);
+        List<String> statements = RecordingStatementInspector.statements();
+        return statements.stream().filter(statement -> statement.regionMatches(true, 0, "select", 0, 6)).count();
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String content) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(content);
+    }
+
+    private String booking(LocalDate date, int hour, Long userId) {
+        return """
+                {"reservationDate":"%s","reservationTime":"%02d:00","duration":1,"user":{"id":%d},"diningTable":{"id":%d}}
+                """.formatted(date, hour, userId, tableId);
+    }
+
+    /** A login with a space is valid in length but makes the email invalid. */
+    private static String user(String login) {
+        return """
+                {"login":"%s","password":"correct horse battery","firstName":"Anna","lastName":"Nowak","email":"%s@example.com","phoneNumber":"500 600 700"}
+                """.formatted(login, login);
+    }
+}
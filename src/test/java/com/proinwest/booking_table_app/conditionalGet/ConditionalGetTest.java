@@ -0,0 +1,146 @@
+package com.proinwest.booking_table_app.conditionalGet;
+
+import com.proinwest.booking_table_app.RecordingStatementInspector;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Polled read endpoints answer a request carrying their current ETag with 304 and no statement, and move their
+ * ETag on exactly when a committed write changes what they show.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional_get;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalGetTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final String DINING_TABLES = "/diningtables";
+    private static final String FREE_TABLES = "/diningtables/freetables?date=%s&time=18:00&duration=2&seats=2";
+    private static final String OCCUPANCY = "/diningtables/occupancy/%s";
+    private static final String RESERVATIONS = "/reservations/search/date/%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long userId;
+    private Integer tableId;
+
+    @BeforeAll
+    void seed(@Autowired UserRepository userRepository,
+              @Autowired DiningTableRepository diningTableRepository,
+              @Autowired DiningTableService diningTableService) throws Exception
+    {
+        User user = new User();
+        user.setLogin("kiosk");
+        user.setEmail("kiosk@example.com");
+        userId = userRepository.save(user).getId();
+
+        DiningTable diningTable = new DiningTable();
+        diningTable.setNumber(1);
+        diningTable.setSeats(4);
+        tableId = diningTableRepository.save(diningTable).getId();
+        diningTableService.existsById(tableId);
+
+        book(DATE, 12);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {DINING_TABLES, FREE_TABLES, OCCUPANCY, RESERVATIONS})
+    void whenPolledWithCurrentETag_shouldAnswerNotModifiedWithoutStatements(String path) throws Exception {
+        // given
+        String uri = path.formatted(DATE);
+        MockHttpServletResponse first = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse();
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        RecordingStatementInspector.clear();
+
+        // when
+        MockHttpServletResponse second = mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+
+        // then
+        assertTrue(eTag.startsWith("\""));
+        assertTrue(first.getHeader(HttpHeaders.CACHE_CONTROL).contains("no-cache"));
+        assertEquals(0, RecordingStatementInspector.statements().size());
+        assertEquals(0, second.getContentLength());
+        assertEquals(1, second.getHeaders(HttpHeaders.ETAG).size());
+        assertEquals(eTag, second.getHeader(HttpHeaders.ETAG));
+        assertEquals(first.getHeader(HttpHeaders.CACHE_CONTROL), second.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void whenBooked_shouldChangeETagsOfItsDateOnly() throws Exception {
+        // given
+        String freeTables = eTag(FREE_TABLES.formatted(DATE));
+        String occupancy = eTag(OCCUPANCY.formatted(DATE));
+        String reservations = eTag(RESERVATIONS.formatted(DATE));
+        String freeTablesNextDay = eTag(FREE_TABLES.formatted(DATE.plusDays(1)));
+        String diningTables = eTag(DINING_TABLES);
+
+        // when
+        book(DATE, 20);
+
+        // then
+        assertEquals(200, poll(FREE_TABLES.formatted(DATE), freeTables));
+        assertEquals(200, poll(OCCUPANCY.formatted(DATE), occupancy));
+        assertEquals(200, poll(RESERVATIONS.formatted(DATE), reservations));
+        assertEquals(304, poll(FREE_TABLES.formatted(DATE.plusDays(1)), freeTablesNextDay));
+        assertEquals(304, poll(DINING_TABLES, diningTables));
+    }
+
+    @Test
+    void whenUserChanges_shouldChangeETagOfReservationsOnly() throws Exception {
+        // given
+        String freeTables = eTag(FREE_TABLES.formatted(DATE));
+        String reservations = eTag(RESERVATIONS.formatted(DATE));
+
+        // when
+        mockMvc.perform(put("/users/" + userId).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"login":"kiosk","password":"correct horse battery","firstName":"Anna","lastName":"Nowak","email":"kiosk@example.com","phoneNumber":"500 600 700"}
+                        """))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(304, poll(FREE_TABLES.formatted(DATE), freeTables));
+        assertEquals(200, poll(RESERVATIONS.formatted(DATE), reservations));
+    }
+
+    private String eTag(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private int poll(String uri, String eTag) throws Exception {
+        return mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn().getResponse().getStatus();
+    }
+
+    private void book(LocalDate date, int hour) throws Exception {
+        mockMvc.perform(post("/reservations").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"reservationDate":"%s","reservationTime":"%02d:00","duration":1,"user":{"id":%d},"diningTable":{"id":%d}}
+                        """.formatted(date, hour, userId, tableId)))
+                .andExpect(status().isCreated());
+    }
+}
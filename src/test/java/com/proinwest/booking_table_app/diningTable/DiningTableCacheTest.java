@@ -0,0 +1,209 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.RecordingStatementInspector;
+import com.proinwest.booking_table_app.exceptions.NotFoundException;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dining_table_cache;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DiningTableCacheTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DiningTableService diningTableService;
+
+    @Autowired
+    private DiningTableRepository diningTableRepository;
+
+    @Autowired
+    private DiningTableCacheMetrics diningTableCacheMetrics;
+
+    private Long userId;
+    private Integer tableId;
+
+    @BeforeAll
+    void seed(@Autowired UserRepository userRepository, @Autowired DiningTableRepository diningTableRepository) {
+        User user = new User();
+        user.setLogin("cached");
+        user.setEmail("cached@example.com");
+        userId = userRepository.save(user).getId();
+
+        DiningTable diningTable = new DiningTable();
+        diningTable.setNumber(1);
+        diningTable.setSeats(4);
+        tableId = diningTableRepository.save(diningTable).getId();
+    }
+
+    @Test
+    void whenLookedUpAgain_shouldNotQueryDatabase() {
+        // given
+        lookUp(tableId);
+        final DiningTableCacheStatistics before = diningTableCacheMetrics.statistics();
+        RecordingStatementInspector.clear();
+
+        // when
+        lookUp(tableId);
+
+        // then
+        assertEquals(List.of(), RecordingStatementInspector.statements());
+        final DiningTableCacheStatistics after = diningTableCacheMetrics.statistics();
+        assertTrue(after.queryHits() >= before.queryHits() + 2);
+        assertTrue(after.roundTripsSaved() > before.roundTripsSaved());
+    }
+
+    @Test
+    void whenTableIsWrittenThroughService_shouldReadChanges() throws Exception {
+        // given
+        assertTrue(seatedAtLeast(40).isEmpty());
+
+        // when then
+        final DiningTable added = objectMapper.readValue(mockMvc.perform(post("/diningtables")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"number\":90,\"seats\":40}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), DiningTable.class);
+        assertEquals(List.of(added.getId()), seatedAtLeast(40));
+        assertTrue(diningTableService.existsById(added.getId()));
+        assertTrue(diningTableService.existsByNumber(90));
+        assertTrue(diningTableRepository.existsById(added.getId()));
+
+        mockMvc.perform(put("/diningtables/" + added.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"number\":91,\"seats\":2}"))
+                .andExpect(status().isOk());
+        assertTrue(seatedAtLeast(40).isEmpty());
+        assertEquals(91, diningTableService.findNumberById(added.getId()));
+        assertFalse(diningTableService.existsByNumber(90));
+        assertEquals(2, diningTableRepository.findAllById(List.of(added.getId())).getFirst().getSeats());
+
+        mockMvc.perform(patch("/diningtables/" + added.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"seats\":45}"))
+                .andExpect(status().isOk());
+        assertEquals(List.of(added.getId()), seatedAtLeast(40));
+        assertEquals(45, diningTableService.findAllById(List.of(added.getId())).getFirst().getSeats());
+
+        mockMvc.perform(delete("/diningtables/" + added.getId()))
+                .andExpect(status().isNoContent());
+        assertTrue(seatedAtLeast(40).isEmpty());
+        assertFalse(diningTableService.existsById(added.getId()));
+        assertFalse(diningTableRepository.existsById(added.getId()));
+        assertTrue(diningTableRepository.findAllById(List.of(added.getId())).isEmpty());
+        assertFalse(diningTableService.getAllDiningTables().stream().anyMatch(diningTable -> diningTable.getId().equals(added.getId())));
+    }
+
+    @Test
+    void whenBookedRepeatedly_shouldCountRoundTripsSavedPerBooking() throws Exception {
+        // given
+        book(12);
+        RecordingStatementInspector.clear();
+
+        // when
+        book(14);
+
+        // then
+        assertTrue(RecordingStatementInspector.statements().stream().noneMatch(statement -> statement.contains("dining_table")),
+                RecordingStatementInspector.statements()::toString);
+        final Map<?, ?> statistics = objectMapper.readValue(mockMvc.perform(get("/diningtables/cache-statistics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), Map.class);
+        assertTrue(((Number) statistics.get("bookings")).longValue() >= 2);
+        assertTrue(((Number) statistics.get("roundTripsSavedPerBooking")).doubleValue() > 0);
+        assertTrue(((Number) statistics.get("queryHitRate")).doubleValue() > 0);
+    }
+
+    @Test
+    void whenTableIsBooked_shouldDropCachedFreeTablesOfThatTime() throws Exception {
+        // given
+        assertTrue(freeTableIds(16).contains(tableId));
+        assertTrue(freeTableIds(19).contains(tableId));
+        final FreeTablesCacheStatistics before = freeTablesCacheStatistics();
+
+        // when
+        book(16);
+
+        // then
+        assertFalse(freeTableIds(16).contains(tableId));
+        assertTrue(freeTableIds(19).contains(tableId));
+        final FreeTablesCacheStatistics after = freeTablesCacheStatistics();
+        assertEquals(before.hits() + 1, after.hits());
+        assertEquals(before.misses() + 1, after.misses());
+        assertTrue(after.invalidations() > before.invalidations());
+    }
+
+    private List<Integer> freeTableIds(int hour) throws Exception {
+        final MockHttpServletResponse response = mockMvc.perform(get("/diningtables/freetables")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationDate":"%s","reservationTime":"%02d:00","duration":2,"diningTable":{"seats":4}}
+                                """.formatted(DATE, hour)))
+                .andReturn().getResponse();
+        if (response.getStatus() == 404) return List.of();
+
+        return Arrays.stream(objectMapper.readValue(response.getContentAsString(), DiningTable[].class))
+                .map(DiningTable::getId)
+                .toList();
+    }
+
+    private FreeTablesCacheStatistics freeTablesCacheStatistics() throws Exception {
+        return objectMapper.readValue(mockMvc.perform(get("/diningtables/freetables/cache-statistics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), FreeTablesCacheStatistics.class);
+    }
+
+    private void lookUp(Integer id) {
+        diningTableRepository.existsById(id);
+        diningTableRepository.findAllById(List.of(id));
+    }
+
+    private List<Integer> seatedAtLeast(int seats) {
+        try {
+            return diningTableService.getAllDiningTablesWithMinSeats(seats).stream().map(DiningTable::getId).toList();
+        } catch (NotFoundException e) {
+            return List.of();
+        }
+    }
+
+    /** Books through the batch endpoint, whose validation fetches the dining tables with a cacheable query. */
+    private void book(int hour) throws Exception {
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"reservationDate":"%s","reservationTime":"%02d:00","duration":1,"user":{"id":%d},"diningTable":{"id":%d}}]
+                                """.formatted(DATE, hour, userId, tableId)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].created").value(true));
+    }
+}
@@ -0,0 +1,74 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiningTableCatalogTest {
+
+    @Test
+    void shouldReturnTablesWithMinSeatsFewestSeatsFirst() {
+        // given
+        DiningTableCatalog catalog = DiningTableCatalog.of(List.of(
+                diningTable(1, 6), diningTable(2, 2), diningTable(3, 6), diningTable(4, 4)));
+
+        // when then
+        assertEquals(List.of(2, 4, 1, 3), ids(catalog.withMinSeats(0)));
+        assertEquals(List.of(4, 1, 3), ids(catalog.withMinSeats(3)));
+        assertEquals(List.of(1, 3), ids(catalog.withMinSeats(6)));
+        assertEquals(List.of(), catalog.withMinSeats(7));
+        assertThrows(UnsupportedOperationException.class, () -> catalog.withMinSeats(1).clear());
+    }
+
+    @Test
+    void whenCatalogIsEmpty_shouldFindNothing() {
+        // given
+        DiningTableCatalog catalog = DiningTableCatalog.of(List.of());
+
+        // when then
+        assertEquals(List.of(), catalog.withMinSeats(1));
+        assertFalse(catalog.containsId(1));
+        assertFalse(catalog.containsNumber(1));
+        assertEquals(0, catalog.numberOf(1));
+    }
+
+    @Test
+    void whenTableIsReplaced_shouldLeaveOriginalSnapshotUnchanged() {
+        // given
+        DiningTable diningTable = diningTable(1, 4);
+        DiningTableCatalog catalog = DiningTableCatalog.of(List.of(diningTable, diningTable(2, 2)));
+        DiningTable updated = diningTable(1, 8);
+        updated.setNumber(11);
+
+        // when
+        DiningTableCatalog updatedCatalog = catalog.with(updated).without(2);
+        diningTable.setSeats(50);
+
+        // then
+        assertEquals(List.of(2, 1), ids(catalog.withMinSeats(1)));
+        assertEquals(4, catalog.withMinSeats(3).getFirst().getSeats());
+        assertEquals(1, catalog.numberOf(1));
+        assertEquals(List.of(1), ids(updatedCatalog.withMinSeats(5)));
+        assertEquals(11, updatedCatalog.numberOf(1));
+        assertEquals(4, catalog.seatsOf(1));
+        assertEquals(8, updatedCatalog.seatsOf(1));
+        assertEquals(0, updatedCatalog.seatsOf(2));
+        assertTrue(updatedCatalog.containsNumber(11));
+        assertFalse(updatedCatalog.containsNumber(1));
+        assertFalse(updatedCatalog.containsId(2));
+    }
+
+    private static List<Integer> ids(List<DiningTable> diningTables) {
+        return diningTables.stream().map(DiningTable::getId).toList();
+    }
+
+    private static DiningTable diningTable(int id, int seats) {
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(id);
+        diningTable.setNumber(id);
+        diningTable.setSeats(seats);
+        return diningTable;
+    }
+}
@@ -7,17 +7,28 @@ import com.proinwest.booking_table_app.reservation.*;
 import com.proinwest.booking_table_app.user.User;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 
 import static com.proinwest.booking_table_app.diningTable.DiningTableService.*;
+import static com.proinwest.booking_table_app.reservation.ReservationService.MAX_DURATION;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class DiningTableServiceTest {
 
+    private final FreeTablesCache freeTablesCache = new FreeTablesCache(100, Duration.ofMinutes(1), Duration.ofSeconds(2));
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
     @Test
     void shouldReturnAllDiningTables() {
         // given
@@ -26,7 +37,7 @@ class DiningTableServiceTest {
         diningTables.add(diningTable);
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findAll())
                 .thenReturn(diningTables);
@@ -44,7 +55,7 @@ class DiningTableServiceTest {
     void whenDiningTableListIsEmpty_shouldThrowException(){
         // given
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findAll())
                 .thenReturn(Collections.emptyList());
@@ -60,7 +71,7 @@ class DiningTableServiceTest {
         int tableId = diningTable.getId();
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findById(tableId))
                 .thenReturn(Optional.of(diningTable));
@@ -80,7 +91,7 @@ class DiningTableServiceTest {
         int tableId = 1;
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findById(tableId))
                 .thenReturn(Optional.empty());
@@ -103,7 +114,7 @@ class DiningTableServiceTest {
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
         DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, diningTableValidator);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, diningTableValidator, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.save(diningTable))
                 .thenReturn(savedDiningTable);
@@ -125,7 +136,7 @@ class DiningTableServiceTest {
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
         DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, diningTableValidator);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, diningTableValidator, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findById(tableId)
                         .map(updatingDiningTable -> updateDiningTable(diningTable, updatingDiningTable)))
@@ -155,7 +166,7 @@ class DiningTableServiceTest {
         int tableId = diningTable.getId();
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findById(tableId)
                 .map(updatingDiningTable -> updateDiningTable(diningTable, updatingDiningTable)))
@@ -173,7 +184,7 @@ class DiningTableServiceTest {
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
         DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, diningTableValidator);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, diningTableValidator, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.findById(tableId)
                         .map(updatingTable -> partiallyUpdateDiningTable(diningTable, updatingTable)))
@@ -198,7 +209,7 @@ class DiningTableServiceTest {
         int tableId = 123;
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableRepository.existsById(tableId)).thenReturn(false);
 
@@ -224,10 +235,10 @@ class DiningTableServiceTest {
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
         ReservationRepository reservationRepository = mock(ReservationRepository.class);
         ReservationDTOMapper reservationDTOMapper = mock(ReservationDTOMapper.class);
-        ReservationService reservationService = new ReservationService(reservationRepository, reservationDTOMapper, null, null);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null);
+        ReservationService reservationService = new ReservationService(reservationRepository, reservationDTOMapper, null, null, null, null, eventPublisher, Duration.ofSeconds(2));
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
-        when(diningTableService.existsById(tableId)).thenReturn(true);
+        when(diningTableRepository.findAll()).thenReturn(List.of(diningTable));
         when(reservationRepository.findAllByDiningTableId(tableId))
                 .thenReturn(List.of(reservation));
 
@@ -239,6 +250,7 @@ class DiningTableServiceTest {
     void shouldReturnFreeTablesWhenAvailable() {
         // given
         DiningTable diningTable = Instancio.create(DiningTable.class);
+        diningTable.setSeats(4);
         User user = Instancio.create(User.class);
 
         Reservation reservation = new Reservation();
@@ -251,22 +263,21 @@ class DiningTableServiceTest {
         List<DiningTable> allDiningTablesWithMinSeats = new ArrayList<>();
         allDiningTablesWithMinSeats.add(diningTable);
 
-        List<DiningTable> bookedDiningTables = new ArrayList<>();
-
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        ReservationValidator reservationValidator = new ReservationValidator(null, null, diningTableValidator, null);
-        ReservationService reservationService = new ReservationService(null, null, reservationValidator, null);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null);
+        BookingGuard bookingGuard = mock(BookingGuard.class);
+        ReservationValidator reservationValidator = new ReservationValidator(null, null, null);
+        ReservationService reservationService = new ReservationService(null, null, reservationValidator, null, null, null, eventPublisher, Duration.ofSeconds(2));
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null, bookingGuard, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
-        when(diningTableRepository.allDiningTablesWithMinSeats(diningTable.getSeats()))
+        when(diningTableRepository.findAll())
                 .thenReturn(allDiningTablesWithMinSeats);
-        when(diningTableService.getBookedDiningTables(
-                        reservation.getReservationDate(),
-                        reservation.getReservationTime(),
-                        reservation.getDuration())
+        when(bookingGuard.freeTables(
+                        anyList(),
+                        eq(reservation.getReservationDate()),
+                        eq(reservation.getReservationTime()),
+                        eq(reservation.getDuration()))
                 )
-                .thenReturn(bookedDiningTables);
+                .thenReturn(allDiningTablesWithMinSeats);
 
         // when
         List<DiningTable> result = diningTableService.getFreeTables(reservation);
@@ -280,6 +291,7 @@ class DiningTableServiceTest {
     void whenAllTablesReserved_shouldThrowException() {
         // given
         DiningTable diningTable = Instancio.create(DiningTable.class);
+        diningTable.setSeats(4);
         User user = Instancio.create(User.class);
 
         Reservation reservation = new Reservation();
@@ -292,50 +304,155 @@ class DiningTableServiceTest {
         List<DiningTable> allDiningTablesWithMinSeats = new ArrayList<>();
         allDiningTablesWithMinSeats.add(diningTable);
 
-        List<DiningTable> bookedDiningTables = new ArrayList<>();
-        bookedDiningTables.add(diningTable);
-
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        ReservationValidator reservationValidator = new ReservationValidator(null, null, diningTableValidator, null);
-        ReservationService reservationService = new ReservationService(null, null, reservationValidator, null);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null);
+        BookingGuard bookingGuard = mock(BookingGuard.class);
+        ReservationValidator reservationValidator = new ReservationValidator(null, null, null);
+        ReservationService reservationService = new ReservationService(null, null, reservationValidator, null, null, null, eventPublisher, Duration.ofSeconds(2));
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null, bookingGuard, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
-        when(diningTableRepository.allDiningTablesWithMinSeats(diningTable.getSeats()))
+        when(diningTableRepository.findAll())
                 .thenReturn(allDiningTablesWithMinSeats);
-        when(diningTableService.getBookedDiningTables(
-                        reservation.getReservationDate(),
-                        reservation.getReservationTime(),
-                        reservation.getDuration())
+        when(bookingGuard.freeTables(
+                        anyList(),
+                        eq(reservation.getReservationDate()),
+                        eq(reservation.getReservationTime()),
+                        eq(reservation.getDuration()))
                 )
-                .thenReturn(bookedDiningTables);
+                .thenReturn(List.of());
 
         // when & then
         assertThrows(NotFoundException.class, () -> diningTableService.getFreeTables(reservation));
     }
 
+    @Test
+    void whenFreeTablesAreSearchedAgain_shouldServeThemFromCacheUntilTableChanges() {
+        // given
+        DiningTable diningTable = diningTable(1, 4);
+        DiningTable party = new DiningTable();
+        party.setSeats(4);
+        Reservation reservation = new Reservation();
+        reservation.setReservationDate(LocalDate.now().plusDays(1));
+        reservation.setReservationTime(LocalTime.of(19, 0));
+        reservation.setDuration(2);
+        reservation.setDiningTable(party);
+
+        DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
+        BookingGuard bookingGuard = mock(BookingGuard.class);
+        ReservationService reservationService = new ReservationService(null, null, new ReservationValidator(null, null, null), null, null, null, eventPublisher, Duration.ofSeconds(2));
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null, bookingGuard, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        when(diningTableRepository.findAll()).thenReturn(List.of(diningTable));
+        when(bookingGuard.freeTables(anyList(), any(), any(), anyInt())).thenReturn(List.of(diningTable));
+
+        // when
+        diningTableService.getFreeTables(reservation);
+        diningTableService.getFreeTables(reservation);
+        freeTablesCache.onDiningTableChanged(new DiningTableChangedEvent(2, 3));
+        diningTableService.getFreeTables(reservation);
+        freeTablesCache.onDiningTableChanged(new DiningTableChangedEvent(1, 4));
+        List<DiningTable> result = diningTableService.getFreeTables(reservation);
+
+        // then
+        verify(bookingGuard, times(2)).freeTables(anyList(), any(), any(), anyInt());
+        assertEquals(List.of(diningTable), result);
+        assertEquals(2, freeTablesCache.statistics().hits());
+    }
+
     @Test
     void shouldReturnAllDiningTableWithMinSeats() {
         // given
-        DiningTable diningTable = new DiningTable();
-        diningTable.setId(2);
-        diningTable.setNumber(2);
-        diningTable.setSeats(6);
         int minSeats = 6;
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
-        when(diningTableRepository.allDiningTablesWithMinSeats(minSeats))
-                .thenReturn(List.of(diningTable));
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(diningTable(1, 8), diningTable(2, 6), diningTable(3, 4)));
 
         // when
         List<DiningTable> result = diningTableService.getAllDiningTablesWithMinSeats(minSeats);
+        diningTableService.getAllDiningTablesWithMinSeats(minSeats);
 
         // then
-        verify(diningTableRepository, times(1)).allDiningTablesWithMinSeats(minSeats);
-        assertNotNull(result);
-        assertEquals(List.of(diningTable), result);
+        verify(diningTableRepository, times(1)).findAll();
+        assertEquals(List.of(2, 1), result.stream().map(DiningTable::getId).toList());
+    }
+
+    @Test
+    void whenDiningTableIsWritten_shouldServeLookupsFromNewCatalog() {
+        // given
+        DiningTable added = diningTable(3, 10);
+
+        DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
+        DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
+        ReservationService reservationService = mock(ReservationService.class);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, diningTableValidator, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(diningTable(1, 4), diningTable(2, 6)));
+        when(diningTableRepository.save(added))
+                .thenReturn(added);
+        diningTableService.getAllDiningTablesWithMinSeats(1);
+
+        // when
+        diningTableService.addDiningTable(added);
+        diningTableService.deleteDiningTable(1);
+
+        // then
+        verify(diningTableRepository, times(1)).findAll();
+        verify(diningTableRepository, times(1)).deleteById(1);
+        assertEquals(List.of(2, 3), diningTableService.getAllDiningTablesWithMinSeats(1).stream().map(DiningTable::getId).toList());
+        assertTrue(diningTableService.existsByNumber(3));
+        assertEquals(3, diningTableService.findNumberById(3));
+        assertFalse(diningTableService.existsByNumber(1));
+    }
+
+    @Test
+    void whenMissedDiningTableExists_shouldReloadCatalogOnlyForIt() {
+        // given
+        DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(diningTable(1, 4)))
+                .thenReturn(List.of(diningTable(1, 4), diningTable(2, 6)));
+        when(diningTableRepository.existsById(2)).thenReturn(true);
+
+        // when
+        boolean addedElsewhere = diningTableService.existsById(2);
+        boolean unknown = diningTableService.existsById(3);
+        Integer unknownNumber = diningTableService.findNumberById(3);
+
+        // then
+        assertTrue(addedElsewhere);
+        assertFalse(unknown);
+        assertEquals(0, unknownNumber);
+        verify(diningTableRepository, times(2)).findAll();
+        verify(diningTableRepository, times(2)).existsById(3);
+    }
+
+    @Test
+    void whenCatalogHasExpired_shouldReloadChangesMadeElsewhere() {
+        // given
+        DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
+        DiningTableService expiringService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ZERO);
+        DiningTableService lastingService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(diningTable(1, 4), diningTable(2, 6)))
+                .thenReturn(List.of(diningTable(1, 8)));
+
+        // when
+        List<DiningTable> before = expiringService.getAllDiningTablesWithMinSeats(6);
+        List<DiningTable> after = expiringService.getAllDiningTablesWithMinSeats(6);
+
+        // then
+        assertEquals(List.of(2), before.stream().map(DiningTable::getId).toList());
+        assertEquals(List.of(1), after.stream().map(DiningTable::getId).toList());
+        assertFalse(expiringService.existsByNumber(2));
+        assertTrue(lastingService.existsByNumber(1));
+        assertTrue(lastingService.existsByNumber(1));
+        verify(diningTableRepository, times(4)).findAll();
     }
 
     @Test
@@ -344,15 +461,101 @@ class DiningTableServiceTest {
         int minSeats = 6;
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
-        when(diningTableRepository.allDiningTablesWithMinSeats(minSeats))
-                .thenReturn(Collections.emptyList());
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(diningTable(1, 4)));
 
         // when & then
         assertThrows(NotFoundException.class, () -> diningTableService.getAllDiningTablesWithMinSeats(minSeats));
     }
 
+    @Test
+    void shouldMarkSlotsCoveredByReservationsOfEveryTable() {
+        // given
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
+        ReservationService reservationService = mock(ReservationService.class);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(diningTable(2, 6), diningTable(1, 4)));
+        when(reservationService.findBookedSlotsBetween(date, date))
+                .thenReturn(List.of(
+                        new BookedSlot(1, date, date.atTime(11, 15), date.atTime(12, 0)),
+                        new BookedSlot(2, date, date.atTime(19, 0), date.atTime(21, 0)),
+                        new BookedSlot(9, date, date.atTime(13, 0), date.atTime(14, 0))));
+
+        // when
+        DayOccupancy result = diningTableService.getDayOccupancy(date, 60);
+
+        // then
+        assertEquals(LocalTime.of(11, 0), result.opensAt());
+        assertEquals(List.of(
+                new TableOccupancy(1, 1, 4, "100000000000"),
+                new TableOccupancy(2, 2, 6, "000000001100")), result.tables());
+    }
+
+    @Test
+    void whenSlotDoesNotDivideHour_shouldThrowException() {
+        // given
+        DiningTableService diningTableService = new DiningTableService(null, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        // when
+        InvalidInputException exception = assertThrows(InvalidInputException.class,
+                () -> diningTableService.getDayOccupancy(LocalDate.now(), 25));
+
+        // then
+        assertEquals(SLOT_MESSAGE, exception.getMessage());
+    }
+
+    @Test
+    void whenPreferredTimeIsTaken_shouldReturnClosestFreeTimesOfEarliestDays() {
+        // given
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDate nextDay = date.plusDays(1);
+        DiningTable medium = diningTable(2, 4);
+        DiningTable large = diningTable(3, 6);
+
+        DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
+        ReservationService reservationService = mock(ReservationService.class);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, reservationService, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        when(diningTableRepository.findAll())
+                .thenReturn(List.of(large, diningTable(1, 2), medium));
+        when(reservationService.findBookedSlotsBetween(any(), any()))
+                .thenReturn(List.of(
+                        new BookedSlot(2, date, date.atTime(11, 0), date.atTime(21, 0)),
+                        new BookedSlot(3, date, date.atTime(11, 0), date.atTime(21, 0)),
+                        new BookedSlot(2, nextDay, nextDay.atTime(19, 0), nextDay.atTime(21, 0))));
+
+        // when
+        List<FreeSlot> result = diningTableService.findNextFreeSlots(date, LocalTime.of(19, 0), 2, 4, 7, 3);
+
+        // then
+        verify(reservationService).findBookedSlotsBetween(date, date);
+        verify(reservationService).findBookedSlotsBetween(nextDay, date.plusDays(2));
+        verify(reservationService, times(2)).findBookedSlotsBetween(any(), any());
+        assertEquals(List.of(date.atTime(21, 0), nextDay.atTime(19, 0), nextDay.atTime(18, 30)),
+                result.stream().map(freeSlot -> freeSlot.reservationDate().atTime(freeSlot.reservationTime())).toList());
+        assertEquals(List.of(medium.getId(), large.getId(), large.getId()),
+                result.stream().map(freeSlot -> freeSlot.diningTable().getId()).toList());
+    }
+
+    @Test
+    void whenHorizonIsTooLong_shouldThrowException() {
+        // given
+        DiningTableService diningTableService = new DiningTableService(null, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
+
+        // when
+        InvalidInputException exception = assertThrows(InvalidInputException.class, () -> diningTableService.findNextFreeSlots(
+                LocalDate.now().plusDays(1), LocalTime.of(19, 0), 2, 4, MAX_HORIZON_DAYS + 1, 5));
+
+        // then
+        assertEquals(HORIZON_MESSAGE, exception.getMessage());
+    }
+
     @Test
     void shouldReturnBookedDiningTables() {
         // given
@@ -364,11 +567,12 @@ class DiningTableServiceTest {
         LocalDate date = LocalDate.now().plusDays(1);
         LocalTime time = LocalTime.of(19, 0);
         int duration = 2;
+        LocalDateTime startsAt = LocalDateTime.of(date, time);
 
         DiningTableRepository diningTableRepository = mock(DiningTableRepository.class);
-        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null);
+        DiningTableService diningTableService = new DiningTableService(diningTableRepository, null, null, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
-        when(diningTableRepository.BookedTablesByDateTimeAndDuration(date, time, duration))
+        when(diningTableRepository.bookedTablesBetween(startsAt, startsAt.plusHours(duration), startsAt.minusHours(MAX_DURATION)))
                 .thenReturn(diningTables);
 
         // when
@@ -389,7 +593,7 @@ class DiningTableServiceTest {
         Map<String, String> validationMessages = Map.of("number", FIELD_REQUIRED + NUMBER_MESSAGE);
 
         DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        DiningTableService diningTableService = new DiningTableService(null, null, diningTableValidator);
+        DiningTableService diningTableService = new DiningTableService(null, null, diningTableValidator, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableValidator.validateDiningTable(id, diningTable))
                 .thenReturn(validationMessages);
@@ -407,7 +611,7 @@ class DiningTableServiceTest {
         diningTable.setSeats(2);
 
         DiningTableValidator diningTableValidator = mock(DiningTableValidator.class);
-        DiningTableService diningTableService = new DiningTableService(null, null, diningTableValidator);
+        DiningTableService diningTableService = new DiningTableService(null, null, diningTableValidator, null, freeTablesCache, eventPublisher, Duration.ofMinutes(5));
 
         when(diningTableValidator.validateDiningTable(id, diningTable))
                 .thenReturn(Collections.emptyMap());
@@ -415,4 +619,12 @@ class DiningTableServiceTest {
         // when & then
         assertDoesNotThrow(() -> diningTableService.validateDiningTable(id, diningTable));
     }
-}
\ No newline at end of file
+
+    private static DiningTable diningTable(int id, int seats) {
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(id);
+        diningTable.setNumber(id);
+        diningTable.setSeats(seats);
+        return diningTable;
+    }
+}
@@ -0,0 +1,141 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.reservation.*;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static com.proinwest.booking_table_app.diningTable.DiningTableService.MAX_NUMBER;
+
+/**
+ * Load test of {@link DiningTableService#getFreeTables} from several threads, repeating the few searches a dinner
+ * rush asks for, with and without the {@link FreeTablesCache}; a size of 0 keeps nothing, i.e. the uncached path.
+ * Searches run on the in-memory schedule, optionally with a simulated query latency as in the {@code database}
+ * booking mode. {@code writePercent} of the calls are bookings, which invalidate the overlapping searches of their date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FreeTablesCacheBenchmark {
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    /** Simulated database round trip of a search, in microseconds. */
+    @Param({"0", "100"})
+    public long searchMicros;
+
+    @Param({"0", "5"})
+    public int writePercent;
+
+    private DiningTableService diningTableService;
+    private FreeTablesCache freeTablesCache;
+    private List<Reservation> searches;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private final Random random = new Random();
+    }
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final LocalDate tomorrow = LocalDate.now().plusDays(1);
+        final List<DiningTable> diningTables = new ArrayList<>();
+        for (int id = 1; id <= MAX_NUMBER; id++) {
+            final DiningTable diningTable = new DiningTable();
+            diningTable.setId(id);
+            diningTable.setNumber(id);
+            diningTable.setSeats(2 + random.nextInt(6));
+            diningTables.add(diningTable);
+        }
+
+        final DiningTableRepository diningTableRepository = Mockito.mock(DiningTableRepository.class);
+        Mockito.when(diningTableRepository.findAll()).thenReturn(diningTables);
+        final BookingGuard bookingGuard = bookingGuard(TimeUnit.MICROSECONDS.toNanos(searchMicros));
+        final ReservationService reservationService = new ReservationService(null, null,
+                new ReservationValidator(null, null, bookingGuard), null, bookingGuard, null, event -> {}, Duration.ofSeconds(2));
+        freeTablesCache = new FreeTablesCache(cacheSize, Duration.ofMinutes(1), Duration.ofSeconds(2));
+        diningTableService = new DiningTableService(diningTableRepository, reservationService, null, bookingGuard, freeTablesCache, event -> {}, Duration.ofMinutes(5));
+
+        searches = new ArrayList<>();
+        for (int day = 0; day < 2; day++) {
+            for (int hour = 18; hour <= 21; hour++) {
+                for (int seats = 2; seats <= 4; seats += 2) {
+                    final DiningTable party = new DiningTable();
+                    party.setSeats(seats);
+                    final Reservation search = new Reservation();
+                    search.setReservationDate(tomorrow.plusDays(day));
+                    search.setReservationTime(LocalTime.of(hour, 0));
+                    search.setDuration(2);
+                    search.setDiningTable(party);
+                    searches.add(search);
+                }
+            }
+        }
+    }
+
+    /** Local guard on an empty schedule, so every search walks all tables, plus the simulated round trip. */
+    private static BookingGuard bookingGuard(long searchNanos) {
+        final LocalBookingGuard localBookingGuard = new LocalBookingGuard(new TableDayLocks(),
+                new ReservationSchedule(Mockito.mock(ReservationRepository.class)));
+        return new BookingGuard() {
+            @Override
+            public <T> T book(Reservation reservation, Supplier<T> booking) {
+                return localBookingGuard.book(reservation, booking);
+            }
+
+            @Override
+            public <T> T bookAll(Collection<Reservation> reservations, Supplier<T> booking) {
+                return localBookingGuard.bookAll(reservations, booking);
+            }
+
+            @Override
+            public boolean isAvailable(Reservation reservation) {
+                return localBookingGuard.isAvailable(reservation);
+            }
+
+            @Override
+            public List<DiningTable> freeTables(List<DiningTable> diningTables, LocalDate date, LocalTime time, int duration) {
+                if (searchNanos > 0) LockSupport.parkNanos(searchNanos);
+                return localBookingGuard.freeTables(diningTables, date, time, duration);
+            }
+
+            @Override
+            public void saved(Reservation reservation) {
+                localBookingGuard.saved(reservation);
+            }
+
+            @Override
+            public void deleted(Long id) {
+                localBookingGuard.deleted(id);
+            }
+        };
+    }
+
+    @Benchmark
+    public List<DiningTable> getFreeTables(Caller caller) {
+        final Reservation search = searches.get(caller.random.nextInt(searches.size()));
+        if (caller.random.nextInt(100) < writePercent) {
+            final LocalDate date = search.getReservationDate();
+            final BookedSlot booked = new BookedSlot(1, date, date.atTime(search.getReservationTime()),
+                    date.atTime(search.getReservationTime()).plusHours(1));
+            freeTablesCache.onReservationsChanged(new ReservationsChangedEvent(List.of(booked)));
+        }
+        return diningTableService.getFreeTables(search);
+    }
+}
@@ -0,0 +1,97 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.reservation.BookedSlot;
+import com.proinwest.booking_table_app.reservation.ReservationsChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeTablesCacheTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    private final FreeTablesCache freeTablesCache = new FreeTablesCache(100, Duration.ofMinutes(1), Duration.ofSeconds(2));
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @Test
+    void whenReservationChanges_shouldInvalidateOnlyOverlappingSearchesOfItsDate() {
+        // given
+        FreeTablesQuery overlapping = new FreeTablesQuery(DATE, LocalTime.of(18, 0), 2, 2);
+        FreeTablesQuery adjacent = new FreeTablesQuery(DATE, LocalTime.of(21, 0), 2, 2);
+        FreeTablesQuery nextDay = new FreeTablesQuery(DATE.plusDays(1), LocalTime.of(19, 0), 2, 2);
+        List.of(overlapping, adjacent, nextDay).forEach(this::search);
+
+        // when
+        freeTablesCache.onReservationsChanged(new ReservationsChangedEvent(List.of(
+                new BookedSlot(1, DATE, DATE.atTime(19, 0), DATE.atTime(21, 0)))));
+        List.of(overlapping, adjacent, nextDay).forEach(this::search);
+
+        // then
+        assertEquals(4, searches.get());
+        assertEquals(1, freeTablesCache.statistics().invalidations());
+        assertEquals(2, freeTablesCache.statistics().hits());
+    }
+
+    @Test
+    void whenDiningTableChanges_shouldInvalidateSearchesForAtMostItsSeats() {
+        // given
+        FreeTablesQuery couple = new FreeTablesQuery(DATE, LocalTime.of(19, 0), 2, 2);
+        FreeTablesQuery family = new FreeTablesQuery(DATE, LocalTime.of(19, 0), 2, 6);
+        List.of(couple, family).forEach(this::search);
+
+        // when
+        freeTablesCache.onDiningTableChanged(new DiningTableChangedEvent(1, 4));
+        List.of(couple, family).forEach(this::search);
+
+        // then
+        assertEquals(3, searches.get());
+        assertEquals(0.25, freeTablesCache.statistics().hitRate());
+    }
+
+    @Test
+    void whenWriteHappensDuringSearch_shouldNotKeepItsResult() {
+        // given
+        FreeTablesQuery query = new FreeTablesQuery(DATE, LocalTime.of(19, 0), 2, 2);
+
+        // when
+        freeTablesCache.get(query, () -> {
+            freeTablesCache.onDiningTableChanged(new DiningTableChangedEvent(1, 4));
+            return List.of();
+        });
+        search(query);
+
+        // then
+        assertEquals(1, searches.get());
+        assertEquals(0, freeTablesCache.statistics().hits());
+    }
+
+    @Test
+    void whenUnrelatedWriteHappensDuringSearch_shouldKeepItsResult() {
+        // given
+        FreeTablesQuery query = new FreeTablesQuery(DATE, LocalTime.of(19, 0), 2, 6);
+
+        // when
+        freeTablesCache.get(query, () -> {
+            freeTablesCache.onDiningTableChanged(new DiningTableChangedEvent(1, 4));
+            return List.of();
+        });
+        search(query);
+
+        // then
+        assertEquals(0, searches.get());
+        assertEquals(1, freeTablesCache.statistics().hits());
+    }
+
+    private void search(FreeTablesQuery query) {
+        freeTablesCache.get(query, () -> {
+            searches.incrementAndGet();
+            return List.of();
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.proinwest.booking_table_app.diningTable;
+
+import com.proinwest.booking_table_app.exceptions.NotFoundException;
+import com.proinwest.booking_table_app.reservation.*;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.proinwest.booking_table_app.diningTable.DiningTableService.MAX_NUMBER;
+
+/**
+ * Search for the next free slots of a party of 4 preferring 19:00 over a horizon of days with 100 tables, by
+ * {@link DiningTableService#findNextFreeSlots} and by calling {@link DiningTableService#getFreeTables} for one
+ * date and time after another, as clients retrying alternative times do. Each table-day has six two-hour blocks,
+ * each booked with {@code bookedPercent} chance; at 100 all of them are booked except on the last day, so both
+ * searches walk the whole horizon. Bookings are served from memory without latency, so the comparison is of CPU
+ * time only: the loop would run a database query for every date and time it tries, the search one per window of days.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NextFreeSlotsBenchmark {
+    private static final LocalTime PREFERRED_TIME = LocalTime.of(19, 0);
+    private static final int DURATION = 2;
+    private static final int SEATS = 4;
+    private static final int FREE_SLOTS = 5;
+
+    @Param({"30", "90"})
+    public int days;
+
+    @Param({"80", "100"})
+    public int bookedPercent;
+
+    private final LocalDate firstDate = LocalDate.now().plusDays(1);
+    private DiningTableService diningTableService;
+    private List<LocalTime> startTimes;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final List<DiningTable> diningTables = new ArrayList<>();
+        for (int id = 1; id <= MAX_NUMBER; id++) {
+            final DiningTable diningTable = new DiningTable();
+            diningTable.setId(id);
+            diningTable.setNumber(id);
+            diningTable.setSeats(2 + random.nextInt(6));
+            diningTables.add(diningTable);
+        }
+
+        final List<BookedSlot> bookedSlots = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            final LocalDate date = firstDate.plusDays(day);
+            final boolean lastDay = day == days - 1;
+            for (DiningTable diningTable : diningTables) {
+                for (int hour = 11; hour < 23; hour += 2) {
+                    if (lastDay || random.nextInt(100) >= bookedPercent) continue;
+                    bookedSlots.add(new BookedSlot(diningTable.getId(), date, date.atTime(hour, 0), date.atTime(hour + 2, 0)));
+                }
+            }
+        }
+
+        final DiningTableRepository diningTableRepository = Mockito.mock(DiningTableRepository.class);
+        Mockito.when(diningTableRepository.findAll()).thenReturn(diningTables);
+        final BookingGuard bookingGuard = bookingGuard(bookedSlots);
+        final ReservationService reservationService = new ReservationService(reservationRepository(bookedSlots), null,
+                new ReservationValidator(null, null, bookingGuard), null, bookingGuard, null, event -> {}, Duration.ofSeconds(2));
+        diningTableService = new DiningTableService(diningTableRepository, reservationService, null, bookingGuard,
+                new FreeTablesCache(0, Duration.ofMinutes(1), Duration.ofSeconds(2)), event -> {}, Duration.ofMinutes(5));
+
+        startTimes = new ArrayList<>();
+        for (LocalTime time = LocalTime.of(11, 0); !time.isAfter(LocalTime.of(21, 0)); time = time.plusMinutes(30)) {
+            startTimes.add(time);
+        }
+        startTimes.sort(Comparator.comparingLong((LocalTime time) -> Math.abs(Duration.between(PREFERRED_TIME, time).toMinutes()))
+                .thenComparing(Comparator.naturalOrder()));
+    }
+
+    @Benchmark
+    public List<FreeSlot> findNextFreeSlots() {
+        return diningTableService.findNextFreeSlots(firstDate, PREFERRED_TIME, DURATION, SEATS, days, FREE_SLOTS);
+    }
+
+    @Benchmark
+    public List<FreeSlot> loopOverFreeTables() {
+        final List<FreeSlot> freeSlots = new ArrayList<>(FREE_SLOTS);
+        for (int day = 0; day < days; day++) {
+            final LocalDate date = firstDate.plusDays(day);
+            for (LocalTime time : startTimes) {
+                try {
+                    final DiningTable diningTable = diningTableService.getFreeTables(date, time, DURATION, SEATS).getFirst();
+                    freeSlots.add(new FreeSlot(date, time, DURATION, diningTable));
+                    if (freeSlots.size() == FREE_SLOTS) return freeSlots;
+                } catch (NotFoundException e) {
+                    // the slot is full, try the next one
+                }
+            }
+        }
+        return freeSlots;
+    }
+
+    /** Answers the range queries of the search from the generated bookings, without the cost of scanning them all. */
+    private static ReservationRepository reservationRepository(List<BookedSlot> bookedSlots) {
+        final NavigableMap<LocalDate, List<BookedSlot>> slotsByDate = new TreeMap<>();
+        for (BookedSlot slot : bookedSlots) {
+            slotsByDate.computeIfAbsent(slot.date(), date -> new ArrayList<>()).add(slot);
+        }
+        return (ReservationRepository) Proxy.newProxyInstance(ReservationRepository.class.getClassLoader(),
+                new Class<?>[]{ReservationRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findBookedSlotsStartingBetween")) return null;
+                    final LocalDate from = ((LocalDateTime) args[0]).toLocalDate();
+                    final LocalDate to = ((LocalDateTime) args[1]).toLocalDate();
+                    final List<BookedSlot> found = new ArrayList<>();
+                    slotsByDate.subMap(from, to).values().forEach(found::addAll);
+                    return found;
+                });
+    }
+
+    /** Answers the free table lookups of {@code getFreeTables} from the generated bookings, one table-day list each. */
+    private static BookingGuard bookingGuard(List<BookedSlot> bookedSlots) {
+        final Map<LocalDate, Map<Integer, List<BookedSlot>>> slotsByDate = new HashMap<>();
+        for (BookedSlot slot : bookedSlots) {
+            slotsByDate.computeIfAbsent(slot.date(), date -> new HashMap<>())
+                    .computeIfAbsent(slot.diningTableId(), id -> new ArrayList<>())
+                    .add(slot);
+        }
+        return new BookingGuard() {
+            @Override
+            public <T> T book(Reservation reservation, Supplier<T> booking) {
+                return booking.get();
+            }
+
+            @Override
+            public <T> T bookAll(Collection<Reservation> reservations, Supplier<T> booking) {
+                return booking.get();
+            }
+
+            @Override
+            public boolean isAvailable(Reservation reservation) {
+                return true;
+            }
+
+            @Override
+            public List<DiningTable> freeTables(List<DiningTable> diningTables, LocalDate date, LocalTime time, int duration) {
+                final Map<Integer, List<BookedSlot>> slotsByTable = slotsByDate.getOrDefault(date, Map.of());
+                final LocalDateTime startsAt = date.atTime(time);
+                final LocalDateTime endsAt = startsAt.plusHours(duration);
+                return diningTables.stream()
+                        .filter(diningTable -> slotsByTable.getOrDefault(diningTable.getId(), List.of()).stream()
+                                .noneMatch(slot -> slot.startsAt().isBefore(endsAt) && startsAt.isBefore(slot.endsAt())))
+                        .toList();
+            }
+
+            @Override
+            public void saved(Reservation reservation) {
+            }
+
+            @Override
+            public void deleted(Long id) {
+            }
+        };
+    }
+}
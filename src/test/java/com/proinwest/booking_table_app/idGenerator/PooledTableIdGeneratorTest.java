@@ -0,0 +1,63 @@
+package com.proinwest.booking_table_app.idGenerator;
+
+import com.proinwest.booking_table_app.RecordingStatementInspector;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:id_generator;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.jpa.properties.booking.id.allocation_size=40",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PooledTableIdGeneratorTest {
+
+    @Autowired
+    private DiningTableRepository diningTableRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void whenSavingMany_shouldAllocateIdsInBlocksAndBatchInserts() {
+        // given
+        List<DiningTable> diningTables = IntStream.rangeClosed(1, 100)
+                .mapToObj(number -> {
+                    DiningTable diningTable = new DiningTable();
+                    diningTable.setNumber(number);
+                    diningTable.setSeats(4);
+                    return diningTable;
+                })
+                .toList();
+        RecordingStatementInspector.clear();
+
+        // when
+        List<DiningTable> saved = diningTableRepository.saveAll(diningTables);
+
+        // then
+        assertEquals(IntStream.rangeClosed(1, 100).boxed().toList(), saved.stream().map(DiningTable::getId).toList());
+        assertEquals(120, jdbcTemplate.queryForObject(
+                "SELECT next_val FROM id_generator WHERE sequence_name = 'dining_table'", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM id_generator", Integer.class));
+        assertTrue(insertStatements() <= 3, "Expected batched inserts, got " + insertStatements() + " statements.");
+    }
+
+    private static long insertStatements() {
+        return RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.startsWith("insert into dining_table"))
+                .count();
+    }
+}
@@ -0,0 +1,67 @@
+package com.proinwest.booking_table_app.pagination;
+
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    private final KeysetCursor keysetCursor = new KeysetCursor(
+            new KeysetCursor.Key("startsAt", LocalDateTime::parse),
+            new KeysetCursor.Key("id", Long::valueOf));
+
+    @Test
+    void nextCursor_shouldDecodeToPositionOfLastRow() {
+        // given
+        LocalDateTime startsAt = LocalDateTime.of(2030, 5, 1, 18, 30);
+        Window<String> window = Window.from(List.of("first", "last"),
+                index -> ScrollPosition.forward(Map.of("startsAt", startsAt.plusHours(index), "id", 10L + index)), true);
+
+        // when
+        String cursor = keysetCursor.next(window);
+        KeysetScrollPosition position = keysetCursor.position(cursor);
+
+        // then
+        assertEquals(Map.of("startsAt", startsAt.plusHours(1), "id", 11L), position.getKeys());
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void nextCursor_shouldBeNullOnLastPage() {
+        // given
+        Window<String> window = Window.from(List.of("last"), index -> ScrollPosition.forward(Map.of("startsAt", LocalDateTime.now(), "id", 1L)), false);
+
+        // when then
+        assertNull(keysetCursor.next(window));
+    }
+
+    @Test
+    void position_shouldStartFromBeginningWithoutCursor() {
+        // when then
+        assertTrue(keysetCursor.position(null).isInitial());
+    }
+
+    @Test
+    void position_shouldRejectMalformedCursor() {
+        // when then
+        assertThrows(InvalidInputException.class, () -> keysetCursor.position("not a cursor"));
+        assertThrows(InvalidInputException.class, () -> keysetCursor.position("MTIz"));
+    }
+
+    @Test
+    void limit_shouldBeBounded() {
+        // when then
+        assertEquals(CursorPage.DEFAULT_SIZE, CursorPage.limit(null).max());
+        assertEquals(CursorPage.MAX_SIZE, CursorPage.limit(CursorPage.MAX_SIZE).max());
+        assertThrows(InvalidInputException.class, () -> CursorPage.limit(0));
+        assertThrows(InvalidInputException.class, () -> CursorPage.limit(CursorPage.MAX_SIZE + 1));
+    }
+}
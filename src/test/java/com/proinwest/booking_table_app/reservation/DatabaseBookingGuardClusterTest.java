@@ -0,0 +1,200 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.BookingTableApplication;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.exceptions.TableNotAvailableException;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static com.proinwest.booking_table_app.reservation.ReservationServiceConcurrencyTest.assertNoOverlaps;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts in {@code booking.mode=database} sharing one embedded database, standing in for two nodes.
+ */
+class DatabaseBookingGuardClusterTest {
+
+    private static final int THREADS = 8;
+    private static final int BOOKINGS_PER_THREAD = 40;
+
+    private static ConfigurableApplicationContext firstNode;
+    private static ConfigurableApplicationContext secondNode;
+    private static User user;
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    @BeforeAll
+    static void startNodes() {
+        firstNode = startNode();
+        secondNode = startNode();
+
+        user = new User();
+        user.setLogin("cluster");
+        user.setEmail("cluster@example.com");
+        user = firstNode.getBean(UserRepository.class).save(user);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        secondNode.close();
+        firstNode.close();
+    }
+
+    @Test
+    void bothNodesShouldUseDatabaseGuard() {
+        assertInstanceOf(DatabaseBookingGuard.class, firstNode.getBean(BookingGuard.class));
+        assertInstanceOf(DatabaseBookingGuard.class, secondNode.getBean(BookingGuard.class));
+    }
+
+    @Test
+    void nodesShouldNotKeepInMemorySchedule() {
+        assertTrue(firstNode.getBeansOfType(ReservationSchedule.class).isEmpty());
+        assertTrue(secondNode.getBeansOfType(ReservationSchedule.class).isEmpty());
+    }
+
+    @Test
+    void whenNodesBookConcurrently_shouldNeverDoubleBookTable() throws Exception {
+        // given
+        List<Integer> tableIds = List.of(diningTable(1), diningTable(2));
+        List<ReservationService> nodes = List.of(firstNode.getBean(ReservationService.class), secondNode.getBean(ReservationService.class));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> rejections = new ArrayList<>();
+
+        // when
+        for (int thread = 0; thread < THREADS; thread++) {
+            final ReservationService node = nodes.get(thread % nodes.size());
+            final Random random = new Random(thread);
+            rejections.add(executor.submit(() -> {
+                start.await();
+                int rejected = 0;
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    try {
+                        node.addReservation(reservation(tableIds.get(random.nextInt(tableIds.size())),
+                                LocalTime.of(11 + random.nextInt(10), 30 * random.nextInt(2)),
+                                1 + random.nextInt(2)));
+                    } catch (TableNotAvailableException e) {
+                        rejected++;
+                    }
+                }
+                return rejected;
+            }));
+        }
+        start.countDown();
+        int rejected = 0;
+        for (Future<Integer> rejection : rejections) {
+            rejected += rejection.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // then
+        List<Reservation> saved = firstNode.getBean(ReservationRepository.class).findAll().stream()
+                .filter(reservation -> tableIds.contains(reservation.getDiningTable().getId()))
+                .toList();
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, saved.size() + rejected);
+        assertTrue(rejected > 0);
+        assertNoOverlaps(saved);
+    }
+
+    @Test
+    void whenTableIsLockedByOtherNode_shouldRetryUntilLockIsReleased() throws Exception {
+        // given
+        Integer tableId = diningTable(3);
+        TransactionTemplate firstNodeTransaction = new TransactionTemplate(firstNode.getBean(PlatformTransactionManager.class));
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        Future<?> lockHolder = executor.submit(() -> firstNodeTransaction.executeWithoutResult(status -> {
+            firstNode.getBean(DiningTableRepository.class).findAndLockById(tableId);
+            locked.countDown();
+            sleep(1500);
+        }));
+        locked.await();
+        long startedAt = System.nanoTime();
+        ReservationDTO booked = secondNode.getBean(ReservationService.class)
+                .addReservation(reservation(tableId, LocalTime.of(12, 0), 2));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        lockHolder.get();
+        executor.shutdown();
+
+        // then
+        assertNotNull(booked.id());
+        assertTrue(waitedMillis >= 1000, "Booking waited only " + waitedMillis + " ms for the row lock.");
+    }
+
+    @Test
+    void whenBatchConflictsWithOtherNode_shouldRejectOnlyConflictingItems() {
+        // given
+        Integer firstTableId = diningTable(4);
+        Integer secondTableId = diningTable(5);
+        firstNode.getBean(ReservationService.class).addReservation(reservation(firstTableId, LocalTime.of(18, 0), 2));
+
+        // when
+        List<ReservationBatchResult> results = secondNode.getBean(ReservationService.class).addReservations(List.of(
+                reservation(firstTableId, LocalTime.of(19, 0), 1),
+                reservation(secondTableId, LocalTime.of(19, 0), 1),
+                reservation(secondTableId, LocalTime.of(19, 30), 1)
+        ));
+
+        // then
+        assertEquals(List.of(false, true, false), results.stream().map(ReservationBatchResult::created).toList());
+        assertEquals(1, firstNode.getBean(ReservationRepository.class).findAllByDiningTableId(secondTableId).size());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BookingTableApplication.class)
+                .properties(
+                        "booking.mode=database",
+                        "booking.lock-timeout=1s",
+                        "booking.retry-backoff=20ms",
+                        "spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.main.web-application-type=none")
+                .run();
+    }
+
+    private static Integer diningTable(int number) {
+        DiningTable diningTable = new DiningTable();
+        diningTable.setNumber(number);
+        diningTable.setSeats(4);
+        return firstNode.getBean(DiningTableRepository.class).save(diningTable).getId();
+    }
+
+    private Reservation reservation(Integer tableId, LocalTime time, int duration) {
+        User reservationUser = new User();
+        reservationUser.setId(user.getId());
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(tableId);
+
+        Reservation reservation = new Reservation();
+        reservation.setReservationDate(date);
+        reservation.setReservationTime(time);
+        reservation.setDuration(duration);
+        reservation.setUser(reservationUser);
+        reservation.setDiningTable(diningTable);
+        return reservation;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.proinwest.booking_table_app.diningTable.DiningTableService.MAX_NUMBER;
+
+/**
+ * Compares the free-table lookup on {@link ReservationSchedule} with the previous set-difference path.
+ * The previous path is measured without its SQL query, so the difference shown here is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreeTablesBenchmark {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final LocalTime time = LocalTime.of(19, 0);
+    private final int duration = 2;
+
+    private List<DiningTable> diningTables;
+    private List<DiningTable> bookedDiningTables;
+    private ReservationSchedule reservationSchedule;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        diningTables = new ArrayList<>();
+        bookedDiningTables = new ArrayList<>();
+        reservationSchedule = new ReservationSchedule(Mockito.mock(ReservationRepository.class));
+
+        long reservationId = 1;
+        for (int id = 1; id <= MAX_NUMBER; id++) {
+            final DiningTable diningTable = new DiningTable();
+            diningTable.setId(id);
+            diningTable.setNumber(id);
+            diningTable.setSeats(2 + random.nextInt(6));
+            diningTables.add(diningTable);
+
+            boolean booked = false;
+            for (int hour = 11; hour < 23; hour += 3) {
+                if (random.nextBoolean()) continue;
+                final Reservation reservation = new Reservation();
+                reservation.setId(reservationId++);
+                reservation.setReservationDate(date);
+                reservation.setReservationTime(LocalTime.of(hour, 0));
+                reservation.setDuration(1 + random.nextInt(3));
+                reservation.setDiningTable(diningTable);
+                reservationSchedule.put(reservation);
+                booked |= reservation.getReservationTime().isBefore(time.plusHours(duration))
+                        && reservation.getReservationTime().plusHours(reservation.getDuration()).isAfter(time);
+            }
+            if (booked) bookedDiningTables.add(diningTable);
+        }
+    }
+
+    @Benchmark
+    public List<DiningTable> occupancyMasks() {
+        return reservationSchedule.freeTables(diningTables, date, time, duration);
+    }
+
+    @Benchmark
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public List<DiningTable> setDifference() {
+        final Set<DiningTable> freeTables = new HashSet<>((Collection) diningTables);
+        bookedDiningTables.forEach(freeTables::remove);
+
+        return freeTables
+                .stream()
+                .sorted(Comparator.comparingInt(DiningTable::getId))
+                .toList();
+    }
+}
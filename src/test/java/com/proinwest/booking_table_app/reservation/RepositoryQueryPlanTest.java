@@ -0,0 +1,157 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.RecordingStatementInspector;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.user.UserRepository;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs the statements of every repository finder on a seeded database and fails on a full table scan.
+ * Only the fragment fallbacks may scan {@code user}: a substring match cannot use an index, which is why
+ * they run only for fragments too common for the in-memory {@code UserSearchIndex}.
+ * {@code findAll()} without arguments is left out, as reading every row is what it is for.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plans;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/sql/seed-query-plans.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+    private static final Pattern STARTING_WITH_PARAMETER = Pattern.compile("(?i)like\\s+\\?");
+    private static final Pattern CONTAINING_PARAMETER = Pattern.compile("(?i)like\\s+upper\\(\\?\\)");
+    private static final Sort KEYSET_SORT = ReservationService.RESERVATION_CURSOR.sort();
+    private static final ScrollPosition FIRST_PAGE = ScrollPosition.keyset();
+    private static final Limit PAGE = Limit.of(50);
+
+    private final LocalDateTime startsAt = LocalDateTime.of(2020, 6, 15, 14, 0);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DiningTableRepository diningTableRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    Stream<Arguments> finders() {
+        final long userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM user", Long.class);
+        final int tableId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM dining_table", Integer.class);
+        final ScrollPosition nextPage = ScrollPosition.forward(Map.of("startsAt", startsAt, "id", 20_000L));
+        final LocalDate date = startsAt.toLocalDate();
+
+        return Stream.of(
+                finder("reservations page", () -> reservationRepository.findAllBy(FIRST_PAGE, KEYSET_SORT, PAGE)),
+                finder("reservations next page", () -> reservationRepository.findAllBy(nextPage, KEYSET_SORT, PAGE)),
+                finder("reservations starting on a date", () -> reservationRepository.findAllByStartsAtGreaterThanEqualAndStartsAtLessThan(
+                        date.atStartOfDay(), date.plusDays(1).atStartOfDay(), nextPage, KEYSET_SORT, PAGE)),
+                finder("reservations of a table", () -> reservationRepository.findAllByDiningTableId(tableId)),
+                finder("reservations page of a table", () -> reservationRepository.findAllByDiningTableId(tableId, nextPage, KEYSET_SORT, PAGE)),
+                finder("reservations of a user", () -> reservationRepository.findAllByUserId(userId)),
+                finder("reservations page of a user", () -> reservationRepository.findAllByUserId(userId, nextPage, KEYSET_SORT, PAGE)),
+                finder("reservations of users", () -> reservationRepository.findAllByUserIdIn(List.of(userId, userId + 1), FIRST_PAGE, KEYSET_SORT, PAGE)),
+                finder("reservations by phone suffix", () -> reservationRepository.findAllByUserPhoneDigitsReversedStartingWith("12", FIRST_PAGE, KEYSET_SORT, PAGE)),
+                finder("reservations at a table on a date", () -> reservationRepository.findAllByDiningTableIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(
+                        tableId, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), FIRST_PAGE, KEYSET_SORT, PAGE)),
+                finder("reservations starting at", () -> reservationRepository.findAllByStartsAt(startsAt, FIRST_PAGE, KEYSET_SORT, PAGE)),
+                finder("upcoming reservations", () -> reservationRepository.findAllByStartsAtGreaterThanEqual(LocalDateTime.of(2021, 5, 1, 0, 0))),
+                finder("overlapping reservations", () -> reservationRepository.findAllOverlapping(tableId, startsAt, startsAt.plusHours(2),
+                        startsAt.minusHours(ReservationService.MAX_DURATION))),
+                finder("export", () -> {
+                    try (Stream<Reservation> reservations = reservationRepository.streamAllForExport(date.atStartOfDay(), date.plusDays(7).atStartOfDay())) {
+                        reservations.forEach(reservation -> { });
+                    }
+                }),
+                finder("booked slots", () -> reservationRepository.findBookedSlots(Set.of(date, date.plusDays(1)), Set.of(tableId, tableId + 1),
+                        date.atStartOfDay(), date.plusDays(2).atStartOfDay())),
+                finder("booked slots of dates", () -> reservationRepository.findBookedSlotsStartingBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay())),
+                finder("reservations by login fragment", () -> reservationRepository.findAllByUserLoginContainingIgnoreCase("est1", FIRST_PAGE, KEYSET_SORT, PAGE), "USER"),
+                finder("reservations by first name fragment", () -> reservationRepository.findAllByUserFirstNameContainingIgnoreCase("nna1", FIRST_PAGE, KEYSET_SORT, PAGE), "USER"),
+                finder("reservations by last name fragment", () -> reservationRepository.findAllByUserLastNameContainingIgnoreCase("wak1", FIRST_PAGE, KEYSET_SORT, PAGE), "USER"),
+                finder("reservations by email fragment", () -> reservationRepository.findAllByUserEmailContainingIgnoreCase("t1@", FIRST_PAGE, KEYSET_SORT, PAGE), "USER"),
+
+                finder("users page", () -> userRepository.findAllBy(ScrollPosition.forward(Map.of("id", userId + 100)), Sort.by("id"), PAGE)),
+                finder("users by phone suffix", () -> userRepository.findAllByPhoneDigitsReversedStartingWith("12", FIRST_PAGE, Sort.by("id"), PAGE)),
+                finder("user with email exists", () -> userRepository.existsByEmail("guest7@example.com")),
+                finder("user with login exists", () -> userRepository.existsByLogin("guest7")),
+                finder("user search fields", () -> userRepository.findAllSearchFieldsAfter(userId + 100, Limit.of(100))),
+                finder("user login or email taken", () -> userRepository.findUniqueFieldsTakenByOthers(userId, "guest7", "guest8@example.com")),
+                finder("new user login or email taken", () -> userRepository.findUniqueFieldsTakenByOthers(null, "guest7", "guest8@example.com")),
+
+                finder("booked tables", () -> diningTableRepository.bookedTablesBetween(startsAt, startsAt.plusHours(2),
+                        startsAt.minusHours(ReservationService.MAX_DURATION))),
+                finder("table lock", () -> diningTableRepository.findAndLockById(tableId)),
+                finder("tables lock", () -> diningTableRepository.findAndLockAllById(List.of(tableId, tableId + 1)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finder_shouldNotScanWholeTable(String name, Runnable finder, Set<String> scannableTables) {
+        // given
+        RecordingStatementInspector.clear();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> finder.run());
+
+        // then
+        final List<String> statements = RecordingStatementInspector.statements();
+        assertFalse(statements.isEmpty());
+        for (String statement : statements) {
+            final String plan = explain(statement);
+            final Matcher scan = TABLE_SCAN.matcher(plan);
+            while (scan.find()) {
+                assertTrue(scannableTables.contains(scan.group(1)), plan);
+            }
+        }
+    }
+
+    /** LIKE patterns are bound first: H2 only turns a constant prefix into an index range, as MySQL does at execution. */
+    private String explain(String statement) {
+        final String startingWithBound = STARTING_WITH_PARAMETER.matcher(statement).replaceAll("like '12%'");
+        final String bound = CONTAINING_PARAMETER.matcher(startingWithBound).replaceAll("like upper('%12%')");
+        return jdbcTemplate.queryForObject("EXPLAIN " + bound, String.class);
+    }
+
+    private static Arguments finder(String name, Runnable finder, String... scannableTables) {
+        return Arguments.of(name, finder, Set.of(scannableTables));
+    }
+}
@@ -0,0 +1,114 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserDTOMapper;
+import com.proinwest.booking_table_app.user.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Booking throughput of {@link ReservationService} with the repository stubbed out, optionally with a simulated save latency.
+ * "uncontended" gives every thread its own table; "contended" puts all threads on one table-day,
+ * each booking its own hour, so they all queue on the same lock stripe without conflicting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ReservationBookingBenchmark {
+
+    /** Simulated database round trip of a save, in microseconds. */
+    @Param({"0", "100"})
+    public long saveMicros;
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final AtomicInteger threads = new AtomicInteger();
+    private ReservationService reservationService;
+
+    @Setup
+    public void setUp() {
+        ReservationRepository reservationRepository = reservationRepository(TimeUnit.MICROSECONDS.toNanos(saveMicros));
+        UserService userService = new UserService(null, null, null, null, null, null, null, null) {
+            @Override
+            public boolean existsById(Long id) {
+                return true;
+            }
+        };
+        DiningTableService diningTableService = new DiningTableService(null, null, null, null, null, null, null) {
+            @Override
+            public boolean existsById(int id) {
+                return true;
+            }
+        };
+
+        ReservationSchedule reservationSchedule = new ReservationSchedule(reservationRepository);
+        ReservationValidator reservationValidator = new ReservationValidator(userService, diningTableService, new LocalBookingGuard(new TableDayLocks(), reservationSchedule));
+        reservationService = new ReservationService(reservationRepository, new ReservationDTOMapper(new UserDTOMapper()),
+                reservationValidator, diningTableService, new LocalBookingGuard(new TableDayLocks(), reservationSchedule), null, event -> {}, Duration.ofSeconds(2));
+    }
+
+    /** Mockito serializes invocations on a shared mock, which would hide the lock behaviour being measured. */
+    private static ReservationRepository reservationRepository(long saveNanos) {
+        final AtomicLong ids = new AtomicLong();
+        return (ReservationRepository) Proxy.newProxyInstance(ReservationRepository.class.getClassLoader(),
+                new Class<?>[]{ReservationRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        ((Reservation) args[0]).setId(ids.incrementAndGet());
+                        if (saveNanos > 0) LockSupport.parkNanos(saveNanos);
+                        yield args[0];
+                    }
+                    case "existsById" -> true;
+                    default -> null;
+                });
+    }
+
+    @State(Scope.Thread)
+    public static class Booker {
+        private int thread;
+
+        @Setup
+        public void setUp(ReservationBookingBenchmark benchmark) {
+            thread = benchmark.threads.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public void uncontended(Booker booker) {
+        book(1 + booker.thread, LocalTime.of(12, 0));
+    }
+
+    @Benchmark
+    public void contended(Booker booker) {
+        book(1, LocalTime.of(11 + booker.thread, 0));
+    }
+
+    private void book(int diningTableId, LocalTime time) {
+        User user = new User();
+        user.setId(1L);
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(diningTableId);
+
+        Reservation reservation = new Reservation();
+        reservation.setReservationDate(date);
+        reservation.setReservationTime(time);
+        reservation.setDuration(1);
+        reservation.setUser(user);
+        reservation.setDiningTable(diningTable);
+
+        reservationService.deleteReservation(reservationService.addReservation(reservation).id());
+    }
+}
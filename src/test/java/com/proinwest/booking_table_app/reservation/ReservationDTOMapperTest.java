@@ -2,6 +2,7 @@ package com.proinwest.booking_table_app.reservation;
 
 import com.proinwest.booking_table_app.diningTable.DiningTable;
 import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserDTOMapper;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.Test;
 
@@ -26,7 +27,7 @@ class ReservationDTOMapperTest {
         reservation.setUser(user);
         reservation.setDiningTable(diningTable);
 
-        ReservationDTOMapper reservationDTOMapper = new ReservationDTOMapper();
+        ReservationDTOMapper reservationDTOMapper = new ReservationDTOMapper(new UserDTOMapper());
 
         // when
         ReservationDTO reservationDTO = reservationDTOMapper.apply(reservation);
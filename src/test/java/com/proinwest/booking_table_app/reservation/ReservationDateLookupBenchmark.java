@@ -0,0 +1,112 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.pagination.CursorPage;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserDTOMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Many clients asking for the reservations of the same few dates at once, with and without single-flight sharing.
+ * The repository is stubbed with a simulated query latency; {@code requests} and {@code queries} show how many
+ * calls reached {@link ReservationService#findAllByReservationDate} and how many of them ran a query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class ReservationDateLookupBenchmark {
+    private static final ThreadLocal<Lookups> CURRENT = new ThreadLocal<>();
+    private static final int RESERVATIONS_PER_DAY = 50;
+
+    @Param({"false", "true"})
+    public boolean singleFlight;
+
+    /** Number of dates the clients spread over. */
+    @Param({"1", "7"})
+    public int dates;
+
+    /** Simulated database round trip of the query, in microseconds. */
+    @Param({"1000"})
+    public long queryMicros;
+
+    private final LocalDate firstDate = LocalDate.now().plusDays(1);
+    private ReservationService reservationService;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Lookups {
+        public long requests;
+        public long queries;
+        private final Random random = new Random();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            queries = 0;
+            CURRENT.set(this);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        final ReservationRepository reservationRepository = reservationRepository(TimeUnit.MICROSECONDS.toNanos(queryMicros));
+        reservationService = new ReservationService(reservationRepository, new ReservationDTOMapper(new UserDTOMapper()),
+                null, null, null, null, event -> {}, singleFlight ? Duration.ofSeconds(2) : Duration.ZERO);
+    }
+
+    @Benchmark
+    public CursorPage<ReservationDTO> findAllByReservationDate(Lookups lookups) {
+        lookups.requests++;
+        return reservationService.findAllByReservationDate(firstDate.plusDays(lookups.random.nextInt(dates)), null, null);
+    }
+
+    /** Mockito serializes invocations on a shared mock, which would serialize the lookups being measured. */
+    private static ReservationRepository reservationRepository(long queryNanos) {
+        return (ReservationRepository) Proxy.newProxyInstance(ReservationRepository.class.getClassLoader(),
+                new Class<?>[]{ReservationRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAllByStartsAtGreaterThanEqualAndStartsAtLessThan")) return null;
+                    CURRENT.get().queries++;
+                    LockSupport.parkNanos(queryNanos);
+                    return Window.from(reservations(((LocalDateTime) args[0]).toLocalDate()), ScrollPosition::offset);
+                });
+    }
+
+    private static List<Reservation> reservations(LocalDate date) {
+        final List<Reservation> reservations = new ArrayList<>(RESERVATIONS_PER_DAY);
+        for (int i = 0; i < RESERVATIONS_PER_DAY; i++) {
+            final User user = new User();
+            user.setId((long) i);
+            user.setLogin("guest" + i);
+            final DiningTable diningTable = new DiningTable();
+            diningTable.setId(1 + i % 20);
+
+            final Reservation reservation = new Reservation();
+            reservation.setId((long) i);
+            reservation.setReservationDate(date);
+            reservation.setReservationTime(LocalTime.of(11 + i % 10, 0));
+            reservation.setDuration(2);
+            reservation.setUser(user);
+            reservation.setDiningTable(diningTable);
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+}
@@ -0,0 +1,299 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.RecordingStatementInspector;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserAutocomplete;
+import com.proinwest.booking_table_app.user.UserRepository;
+import com.proinwest.booking_table_app.user.UserSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every reservation list endpoint returns many rows with distinct users and tables here,
+ * so any per-row loading of users or tables would show up as extra statements.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_count;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservationEndpointsQueryCountTest {
+
+    private static final int USERS = 20;
+    private static final int TABLES = 10;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+    private Integer tableId;
+
+    @BeforeAll
+    void seed(@Autowired UserRepository userRepository,
+              @Autowired DiningTableRepository diningTableRepository,
+              @Autowired DiningTableService diningTableService,
+              @Autowired ReservationRepository reservationRepository,
+              @Autowired UserSearchIndex userSearchIndex,
+              @Autowired UserAutocomplete userAutocomplete)
+    {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setLogin("guest" + i);
+            user.setFirstName("Anna" + i);
+            user.setLastName("Nowak" + i);
+            user.setEmail("guest" + i + "@example.com");
+            user.setPhoneNumber("500600" + (100 + i));
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<DiningTable> diningTables = new ArrayList<>();
+        for (int i = 1; i <= TABLES; i++) {
+            DiningTable diningTable = new DiningTable();
+            diningTable.setNumber(i);
+            diningTable.setSeats(4);
+            diningTables.add(diningTable);
+        }
+        diningTables = diningTableRepository.saveAll(diningTables);
+
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 4 * USERS; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setReservationDate(DATE);
+            reservation.setReservationTime(LocalTime.of(12, 0).plusHours(i / (2 * TABLES) * 2));
+            reservation.setDuration(2);
+            reservation.setStartsAt(DATE.atTime(reservation.getReservationTime()));
+            reservation.setEndsAt(reservation.getStartsAt().plusHours(2));
+            reservation.setUser(users.get(i % USERS));
+            reservation.setDiningTable(diningTables.get(i % TABLES));
+            reservations.add(reservation);
+        }
+        reservationRepository.saveAll(reservations);
+        userSearchIndex.rebuild();
+        userAutocomplete.rebuild();
+        userId = users.getFirst().getId();
+        tableId = diningTables.getFirst().getId();
+        // loads the dining table catalog, which answers existence checks from then on
+        diningTableService.existsById(tableId);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/reservations, 1",
+            "/reservations/search/date/{date}, 1",
+            "/reservations/search/user/{userId}, 1",
+            "/reservations/search/login/guest, 1",
+            "/reservations/search/firstName/anna, 1",
+            "/reservations/search/lastname/nowak, 1",
+            "/reservations/search/email/example, 1",
+            "/reservations/search/phonenumber/1, 1",
+            "/users/search/login/guest1, 1",
+            "/users/search/nowak, 1",
+            "/users/search/phone/600-110, 1",
+            "/users/autocomplete?prefix=anna1, 0",
+            "/reservations/search/table/{tableId}, 1",
+            "/reservations/search/date/{date}/id/{tableId}, 1",
+            "/reservations/search/date/{date}/time/12:00, 1",
+            "/reservations/search?from={date}&to={date}&fromTime=13:00&tableId={tableId}&lastName=nowak1, 1",
+            "/reservations/search?seats=2&firstName=anna&email=example&phoneNumber=1, 1",
+            "/diningtables/occupancy/{date}, 1",
+            "/diningtables/freetables/next?date={date}&time=12:00&duration=2&seats=2&days=30, 2"
+    })
+    void listEndpoint_shouldRunFixedNumberOfStatements(String path, int expectedStatements) throws Exception {
+        // given
+        String uri = path
+                .replace("{date}", DATE.toString())
+                .replace("{userId}", String.valueOf(userId))
+                .replace("{tableId}", String.valueOf(tableId));
+        RecordingStatementInspector.clear();
+
+        // when
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+        // then
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(expectedStatements, statements.size(), String.join("\n", statements));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/reservations, 80, 30",
+            "/users, 20, 7",
+            "/reservations/search?seats=4, 80, 30"
+    })
+    void listEndpoint_shouldWalkAllRowsPageByPage(String path, int expectedRows, int size) throws Exception {
+        // given
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+
+        // when
+        do {
+            RecordingStatementInspector.clear();
+            MockHttpServletRequestBuilder request = get(path).param("size", String.valueOf(size));
+            if (cursor != null) request.param("cursor", cursor);
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            assertTrue(page.get("content").size() <= size);
+            assertEquals(1, RecordingStatementInspector.statements().size());
+            page.get("content").forEach(row -> ids.add(row.get("id").asLong()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        // then
+        assertEquals(expectedRows, ids.size());
+        assertEquals(expectedRows, new HashSet<>(ids).size());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0, 80",
+            "0, 1, 80",
+            "1, 2, 0"
+    })
+    void exportEndpoint_shouldStreamOneLinePerReservationInOneQuery(int fromDays, int toDays, int expectedLines) throws Exception {
+        // given
+        RecordingStatementInspector.clear();
+
+        // when
+        MvcResult started = mockMvc.perform(get("/reservations/export")
+                        .param("from", DATE.plusDays(fromDays).toString())
+                        .param("to", DATE.plusDays(toDays).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        List<String> lines = body.lines().toList();
+        assertEquals(expectedLines, lines.size());
+        for (String line : lines) {
+            assertEquals(DATE.toString(), objectMapper.readTree(line).get("reservationDate").asText());
+        }
+        assertEquals(1, RecordingStatementInspector.statements().size());
+    }
+
+    @Test
+    void autocompleteEndpoint_shouldReturnTopUsersByPrefix() throws Exception {
+        // when
+        JsonNode users = objectMapper.readTree(mockMvc.perform(get("/users/autocomplete").param("prefix", "Nowak1").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // then
+        assertEquals(5, users.size());
+        assertEquals("Nowak1", users.get(0).get("lastName").asText());
+        mockMvc.perform(get("/users/autocomplete").param("prefix", "nobody")).andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        mockMvc.perform(get("/users/autocomplete").param("prefix", "a").param("limit", "51")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void phoneSearch_shouldMatchDigitSuffixWhateverTheFormatting(@Autowired JdbcTemplate jdbcTemplate) throws Exception {
+        // given
+        RecordingStatementInspector.clear();
+
+        // when
+        JsonNode users = objectMapper.readTree(mockMvc.perform(get("/users/search/phone/{suffix}", "600 110"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        // the pattern is bound before planning, as MySQL sees it at execution; H2 would plan an unbound LIKE as a scan
+        String userPlan = jdbcTemplate.queryForObject("EXPLAIN " + RecordingStatementInspector.statements().getFirst()
+                .replaceFirst("\\?", "'011%'"), String.class);
+        JsonNode reservations = objectMapper.readTree(mockMvc.perform(get("/reservations/search/phonenumber/{suffix}", "11-0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // then
+        assertEquals(1, users.get("content").size());
+        assertEquals("guest10", users.get("content").get(0).get("login").asText());
+        assertEquals(4, reservations.get("content").size());
+        assertTrue(userPlan.contains("IDX_USER_PHONE_DIGITS_REVERSED"), userPlan);
+        mockMvc.perform(get("/users/search/phone/600")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/reservations/search/phonenumber/abc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchEndpoint_shouldCombineAllCriteria() throws Exception {
+        // given table 0 is booked by users 0 and 10 in turns, at 12:00, 14:00, 16:00 and 18:00
+        String date = DATE.toString();
+
+        // when
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/reservations/search")
+                        .param("from", date).param("to", date)
+                        .param("fromTime", "14:00").param("toTime", "16:00")
+                        .param("tableId", String.valueOf(tableId))
+                        .param("lastName", "Nowak1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // then
+        List<String> times = new ArrayList<>();
+        page.get("content").forEach(reservation -> {
+            assertEquals("guest10", reservation.get("user").get("login").asText());
+            times.add(reservation.get("reservationTime").asText());
+        });
+        assertEquals(List.of("14:00:00", "16:00:00"), times);
+    }
+
+    @Test
+    void searchEndpoint_shouldSkipQueryWhenNoUserMatchesAndRejectUnindexableCriteria() throws Exception {
+        // given
+        RecordingStatementInspector.clear();
+
+        // when then
+        mockMvc.perform(get("/reservations/search").param("login", "guest1").param("lastName", "nowak2"))
+                .andExpect(status().isNotFound());
+        assertEquals(0, RecordingStatementInspector.statements().size());
+        mockMvc.perform(get("/reservations/search").param("fromTime", "12:00")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reservations/search").param("from", DATE.plusDays(1).toString()).param("to", DATE.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reservations/search").param("seats", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listEndpoint_shouldRejectMalformedCursorAndOversizedPage() throws Exception {
+        // when then
+        mockMvc.perform(get("/reservations").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users").param("size", "1000")).andExpect(status().isBadRequest());
+    }
+}
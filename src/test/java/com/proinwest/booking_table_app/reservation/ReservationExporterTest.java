@@ -0,0 +1,108 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserDTOMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReservationExporterTest {
+
+    private static final int ROWS = 3_000_000;
+    private static final int BASELINE_ROW = 100_000;
+    private static final long MAX_HEAP_GROWTH = 16L * 1024 * 1024;
+
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class, withSettings().stubOnly());
+    private final ReservationExporter reservationExporter = new ReservationExporter(reservationRepository,
+            new ReservationDTOMapper(new UserDTOMapper()), JsonMapper.builder().findAndAddModules().build(),
+            mock(EntityManager.class, withSettings().stubOnly()), mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+
+    private long baselineHeap;
+    private long finalHeap;
+
+    @Test
+    void export_shouldKeepHeapFlatOverMillionsOfRows() throws Exception {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(reservationRepository.streamAllForExport(any(), any())).thenReturn(LongStream.range(0, ROWS)
+                .mapToObj(this::reservation)
+                .onClose(() -> closed.set(true)));
+        LineCountingOutputStream outputStream = new LineCountingOutputStream();
+
+        // when
+        reservationExporter.export(null, null).writeTo(outputStream);
+
+        // then
+        assertEquals(ROWS, outputStream.lines);
+        assertTrue(closed.get());
+        assertTrue(finalHeap - baselineHeap < MAX_HEAP_GROWTH,
+                "Heap grew by " + (finalHeap - baselineHeap) / 1024 + " KiB over " + (ROWS - BASELINE_ROW) + " rows");
+    }
+
+    @Test
+    void export_shouldRejectReversedDateRange() {
+        // when then
+        assertThrows(InvalidInputException.class,
+                () -> reservationExporter.export(LocalDate.now(), LocalDate.now().minusDays(1)));
+    }
+
+    private Reservation reservation(long index) {
+        if (index == BASELINE_ROW) baselineHeap = usedHeapAfterGc();
+        if (index == ROWS - 1) finalHeap = usedHeapAfterGc();
+
+        User user = new User();
+        user.setId(index % 1_000);
+        user.setLogin("guest" + index % 1_000);
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId((int) (index % 50));
+        diningTable.setNumber((int) (index % 50));
+        diningTable.setSeats(4);
+
+        Reservation reservation = new Reservation();
+        reservation.setId(index);
+        reservation.setReservationDate(LocalDate.of(2020, 1, 1).plusDays(index / 400));
+        reservation.setReservationTime(LocalTime.of(11, 0));
+        reservation.setDuration(2);
+        reservation.setStartsAt(LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime()));
+        reservation.setEndsAt(reservation.getStartsAt().plusHours(2));
+        reservation.setUser(user);
+        reservation.setDiningTable(diningTable);
+        return reservation;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') lines++;
+            }
+        }
+    }
+}
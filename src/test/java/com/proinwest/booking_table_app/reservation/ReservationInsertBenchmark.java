@@ -0,0 +1,102 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.BookingTableApplication;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserRepository;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to insert 100k reservations through {@link ReservationRepository#saveAll} in chunks of 1000, one transaction per chunk.
+ * Rows per second = 100 000 / score. The database is reached over H2's TCP server, so every statement is a real round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReservationInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"1", "50", "500"})
+    public int allocationSize;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private ReservationRepository reservationRepository;
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+    private DiningTable diningTable;
+
+    @Setup(Level.Trial)
+    public void startContext() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        context = new SpringApplicationBuilder(BookingTableApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort()
+                                + "/mem:insert_benchmark;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.booking.id.allocation_size=" + allocationSize,
+                        "spring.main.web-application-type=none",
+                        "logging.level.root=warn")
+                .run();
+        reservationRepository = context.getBean(ReservationRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        user = new User();
+        user.setLogin("benchmark");
+        user.setEmail("benchmark@example.com");
+        user = context.getBean(UserRepository.class).save(user);
+        diningTable = new DiningTable();
+        diningTable.setNumber(1);
+        diningTable.setSeats(4);
+        diningTable = context.getBean(DiningTableRepository.class).save(diningTable);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearReservations() {
+        jdbcTemplate.update("DELETE FROM reservation");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public void insert100k() {
+        final LocalDate date = LocalDate.now().plusDays(1);
+        for (int chunk = 0; chunk < ROWS / CHUNK; chunk++) {
+            final List<Reservation> reservations = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK; i++) {
+                final Reservation reservation = new Reservation();
+                reservation.setReservationDate(date.plusDays(chunk));
+                reservation.setReservationTime(LocalTime.of(11, 0).plusMinutes(i % 600));
+                reservation.setDuration(1);
+                reservation.setStartsAt(LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime()));
+                reservation.setEndsAt(reservation.getStartsAt().plusHours(1));
+                reservation.setUser(user);
+                reservation.setDiningTable(diningTable);
+                reservations.add(reservation);
+            }
+            reservationRepository.saveAll(reservations);
+        }
+    }
+}
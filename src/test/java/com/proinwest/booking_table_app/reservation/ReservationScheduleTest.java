@@ -0,0 +1,187 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationScheduleTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final ReservationSchedule reservationSchedule = new ReservationSchedule(Mockito.mock(ReservationRepository.class));
+
+    @Test
+    void whenReservationsOverlap_shouldNotBeAvailable() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+
+        // when & then
+        assertFalse(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(19, 30), 2)));
+        assertFalse(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(15, 0), 3)));
+        assertFalse(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(17, 0), 1)));
+        assertFalse(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(16, 0), 6)));
+    }
+
+    @Test
+    void whenReservationsAreAdjacentOrOnOtherTable_shouldBeAvailable() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+
+        // when & then
+        assertTrue(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(20, 0), 2)));
+        assertTrue(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(14, 0), 3)));
+        assertTrue(reservationSchedule.isAvailable(reservation(null, 8, LocalTime.of(17, 0), 3)));
+    }
+
+    @Test
+    void whenReservationIsUpdated_shouldNotCollideWithItself() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+
+        // when
+        Reservation moved = reservation(1L, 7, LocalTime.of(18, 0), 3);
+
+        // then
+        assertTrue(reservationSchedule.isAvailable(moved));
+        reservationSchedule.put(moved);
+        assertTrue(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(15, 0), 3)));
+        assertFalse(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(20, 0), 1)));
+    }
+
+    @Test
+    void whenReservationIsRemoved_shouldBeAvailable() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+
+        // when
+        reservationSchedule.remove(1L);
+
+        // then
+        assertTrue(reservationSchedule.isAvailable(reservation(null, 7, LocalTime.of(17, 0), 3)));
+    }
+
+    @Test
+    void whenLastBookingOfDateIsRemoved_shouldDropTheDate() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+        reservationSchedule.put(reservation(2L, 8, LocalTime.of(17, 0), 3));
+
+        // when
+        reservationSchedule.remove(1L);
+
+        // then
+        assertEquals(Set.of(date), reservationSchedule.dates());
+        reservationSchedule.remove(2L);
+        assertEquals(Set.of(), reservationSchedule.dates());
+    }
+
+    @Test
+    void whenDateHasPassed_shouldEvictItsBookings() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+
+        // when
+        reservationSchedule.evictBefore(date.plusDays(1));
+
+        // then
+        assertEquals(Set.of(), reservationSchedule.dates());
+        assertTrue(reservationSchedule.isFree(7, date, LocalTime.of(17, 0), 3));
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(18, 0), 3));
+        assertEquals(Set.of(date), reservationSchedule.dates());
+    }
+
+    @Test
+    void whenTableIsBookedInRequestedSlot_shouldNotBeFree() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+        reservationSchedule.put(reservation(2L, 7, LocalTime.of(21, 30), 1));
+
+        // when & then
+        assertFalse(reservationSchedule.isFree(7, date, LocalTime.of(19, 59), 1));
+        assertFalse(reservationSchedule.isFree(7, date, LocalTime.of(12, 0), 6));
+        assertFalse(reservationSchedule.isFree(7, date, LocalTime.of(20, 0), 3));
+        assertTrue(reservationSchedule.isFree(7, date, LocalTime.of(20, 0), 1));
+        assertTrue(reservationSchedule.isFree(7, date, LocalTime.of(11, 0), 6));
+        assertTrue(reservationSchedule.isFree(8, date, LocalTime.of(17, 0), 3));
+        assertTrue(reservationSchedule.isFree(7, date.plusDays(1), LocalTime.of(17, 0), 3));
+    }
+
+    @Test
+    void whenReservationIsRemoved_shouldBeFree() {
+        // given
+        reservationSchedule.put(reservation(1L, 7, LocalTime.of(17, 0), 3));
+
+        // when
+        reservationSchedule.remove(1L);
+
+        // then
+        assertTrue(reservationSchedule.isFree(7, date, LocalTime.of(17, 0), 3));
+    }
+
+    @Test
+    void whenSameTableDayIsWrittenConcurrently_shouldKeepOccupancyInLineWithBookings() throws Exception {
+        // given
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+
+        try {
+            for (int phase = 0; phase < 50; phase++) {
+                // when
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> done = new ArrayList<>();
+                for (int i = 0; i < writers; i++) {
+                    long id = i + 1;
+                    LocalTime time = slot(i);
+                    done.add(executor.submit(() -> {
+                        start.await();
+                        for (int round = 0; round < 200; round++) {
+                            reservationSchedule.put(reservation(id, 7, time, 1));
+                            reservationSchedule.remove(id);
+                        }
+                        if (id % 2 == 0) reservationSchedule.put(reservation(id, 7, time, 1));
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> writer : done) writer.get(30, TimeUnit.SECONDS);
+
+                // then
+                for (int i = 0; i < writers; i++) {
+                    boolean booked = i % 2 == 1;
+                    assertEquals(!booked, reservationSchedule.isAvailable(reservation(null, 7, slot(i), 1)), "writer " + (i + 1));
+                    assertEquals(!booked, reservationSchedule.isFree(7, date, slot(i), 1), "writer " + (i + 1));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Non-overlapping one-hour slot of the {@code i}-th writer. */
+    private static LocalTime slot(int i) {
+        return LocalTime.of(11, 0).plusMinutes(80L * i);
+    }
+
+    private Reservation reservation(Long id, int tableId, LocalTime time, int duration) {
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(tableId);
+
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setReservationDate(date);
+        reservation.setReservationTime(time);
+        reservation.setDuration(duration);
+        reservation.setDiningTable(diningTable);
+        return reservation;
+    }
+}
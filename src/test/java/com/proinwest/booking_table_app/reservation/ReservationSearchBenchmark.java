@@ -0,0 +1,133 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.BookingTableApplication;
+import com.proinwest.booking_table_app.pagination.CursorPage;
+import com.proinwest.booking_table_app.user.UserSearchIndex;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * "Kowalski's reservations at table 5 next week" over 100k reservations: one {@link ReservationService#search} call
+ * against the workflow the single-field endpoints force, walking every page of the last name, table and per-day
+ * searches and intersecting the ids on the client. The database is reached over H2's TCP server, so every page is a round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationSearchBenchmark {
+
+    private static final int USERS = 2_000;
+    private static final int TABLES = 20;
+    private static final int DAYS = 100;
+    private static final int RESERVATIONS = 100_000;
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kaminski", "Lewandowski", "Zielinski", "Szymanski"};
+    private static final String LAST_NAME = "Kowalski";
+    private static final int TABLE_ID = 5;
+
+    private final LocalDate firstDay = LocalDate.now().plusDays(1);
+    private final LocalDate from = firstDay.plusDays(7);
+    private final LocalDate to = from.plusDays(6);
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+
+    @Setup(Level.Trial)
+    public void startContext() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        context = new SpringApplicationBuilder(BookingTableApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort()
+                                + "/mem:search_benchmark;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.main.web-application-type=none",
+                        "logging.level.root=warn")
+                .run();
+        reservationService = context.getBean(ReservationService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(UserSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.getBean(JdbcTemplate.class).execute("DROP ALL OBJECTS");
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public List<ReservationDTO> singleSearch() {
+        final ReservationSearchCriteria criteria = new ReservationSearchCriteria(from, to, null, null, TABLE_ID, null,
+                null, null, null, LAST_NAME, null, null);
+        return allPages(cursor -> reservationService.search(criteria, cursor, CursorPage.MAX_SIZE));
+    }
+
+    @Benchmark
+    public List<ReservationDTO> multiCallIntersection() {
+        final Set<Long> byLastName = ids(allPages(cursor -> reservationService.findAllByUserLastName(LAST_NAME, cursor, CursorPage.MAX_SIZE)));
+        final Set<Long> byTable = ids(allPages(cursor -> reservationService.findAllByTableId(TABLE_ID, cursor, CursorPage.MAX_SIZE)));
+        final List<ReservationDTO> inWeek = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            final LocalDate day = date;
+            inWeek.addAll(allPages(cursor -> reservationService.findAllByReservationDate(day, cursor, CursorPage.MAX_SIZE)));
+        }
+
+        return inWeek.stream()
+                .filter(reservation -> byLastName.contains(reservation.id()) && byTable.contains(reservation.id()))
+                .toList();
+    }
+
+    private static List<ReservationDTO> allPages(Function<String, CursorPage<ReservationDTO>> pages) {
+        final List<ReservationDTO> reservations = new ArrayList<>();
+        String cursor = null;
+        do {
+            final CursorPage<ReservationDTO> page = pages.apply(cursor);
+            reservations.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return reservations;
+    }
+
+    private static Set<Long> ids(List<ReservationDTO> reservations) {
+        final Set<Long> ids = new HashSet<>();
+        reservations.forEach(reservation -> ids.add(reservation.id()));
+        return ids;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        final List<Object[]> tables = new ArrayList<>();
+        for (int id = 1; id <= TABLES; id++) tables.add(new Object[]{id, id, 2 + id % 5});
+        jdbcTemplate.batchUpdate("INSERT INTO dining_table (id, number, seats) VALUES (?, ?, ?)", tables);
+
+        final List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            final String phoneNumber = String.valueOf(500_000_000 + id);
+            users.add(new Object[]{id, "guest" + id, "Guest", LAST_NAMES[(int) (id % LAST_NAMES.length)],
+                    "guest" + id + "@example.com", phoneNumber, phoneNumber, new StringBuilder(phoneNumber).reverse().toString()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (id, login, first_name, last_name, email, phone_number, phone_digits, phone_digits_reversed) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+
+        final Random random = new Random(42);
+        final List<Object[]> reservations = new ArrayList<>();
+        for (long id = 1; id <= RESERVATIONS; id++) {
+            final LocalDate date = firstDay.plusDays(random.nextInt(DAYS));
+            final int hour = 11 + random.nextInt(10);
+            reservations.add(new Object[]{id, date, String.format("%02d:00", hour), 2, 1 + random.nextInt(USERS), 1 + random.nextInt(TABLES),
+                    date.atTime(hour, 0), date.atTime(hour + 2, 0)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO reservation (id, reservation_date, reservation_time, duration, user_id, table_id, starts_at, ends_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", reservations);
+    }
+}
@@ -0,0 +1,122 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.exceptions.TableNotAvailableException;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserDTOMapper;
+import com.proinwest.booking_table_app.user.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ReservationServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int BOOKINGS_PER_THREAD = 250;
+    private static final int TABLES = 4;
+
+    @Test
+    void whenBookingsConflict_shouldNeverDoubleBookTable() throws Exception {
+        // given
+        Queue<Reservation> savedReservations = new ConcurrentLinkedQueue<>();
+        AtomicLong ids = new AtomicLong();
+
+        ReservationRepository reservationRepository = mock(ReservationRepository.class, withSettings().stubOnly());
+        when(reservationRepository.save(any())).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(ids.incrementAndGet());
+            Thread.yield();
+            savedReservations.add(reservation);
+            return reservation;
+        });
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        when(userService.existsById(anyLong())).thenReturn(true);
+        DiningTableService diningTableService = mock(DiningTableService.class, withSettings().stubOnly());
+        when(diningTableService.existsById(anyInt())).thenReturn(true);
+
+        ReservationSchedule reservationSchedule = new ReservationSchedule(reservationRepository);
+        ReservationValidator reservationValidator = new ReservationValidator(userService, diningTableService, new LocalBookingGuard(new TableDayLocks(), reservationSchedule));
+        ReservationService reservationService = new ReservationService(reservationRepository, new ReservationDTOMapper(new UserDTOMapper()),
+                reservationValidator, diningTableService, new LocalBookingGuard(new TableDayLocks(), reservationSchedule), null, event -> {}, Duration.ofSeconds(2));
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> rejections = new ArrayList<>();
+
+        // when
+        for (int thread = 0; thread < THREADS; thread++) {
+            final Random random = new Random(thread);
+            rejections.add(executor.submit(() -> {
+                start.await();
+                int rejected = 0;
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    try {
+                        reservationService.addReservation(reservation(date,
+                                1 + random.nextInt(TABLES),
+                                LocalTime.of(11 + random.nextInt(10), 30 * random.nextInt(2)),
+                                1 + random.nextInt(2)));
+                    } catch (TableNotAvailableException e) {
+                        rejected++;
+                    }
+                }
+                return rejected;
+            }));
+        }
+        start.countDown();
+        int rejected = 0;
+        for (Future<Integer> rejection : rejections) {
+            rejected += rejection.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, savedReservations.size() + rejected);
+        assertTrue(rejected > 0);
+        assertNoOverlaps(savedReservations);
+    }
+
+    static void assertNoOverlaps(Collection<Reservation> reservations) {
+        Map<Integer, List<Reservation>> reservationsByTable = new HashMap<>();
+        reservations.forEach(reservation -> reservationsByTable
+                .computeIfAbsent(reservation.getDiningTable().getId(), id -> new ArrayList<>())
+                .add(reservation));
+
+        reservationsByTable.values().forEach(tableReservations -> {
+            tableReservations.sort(Comparator.comparing(Reservation::getStartsAt));
+            for (int i = 1; i < tableReservations.size(); i++) {
+                Reservation previous = tableReservations.get(i - 1);
+                Reservation next = tableReservations.get(i);
+                assertFalse(next.getStartsAt().isBefore(previous.getEndsAt()),
+                        "Reservations " + previous.getId() + " and " + next.getId() + " overlap.");
+            }
+        });
+    }
+
+    private static Reservation reservation(LocalDate date, int tableId, LocalTime time, int duration) {
+        User user = new User();
+        user.setId(1L);
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(tableId);
+
+        Reservation reservation = new Reservation();
+        reservation.setReservationDate(date);
+        reservation.setReservationTime(time);
+        reservation.setDuration(duration);
+        reservation.setUser(user);
+        reservation.setDiningTable(diningTable);
+        return reservation;
+    }
+}
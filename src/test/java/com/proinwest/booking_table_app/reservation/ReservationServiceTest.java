@@ -0,0 +1,169 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.exceptions.InvalidInputException;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserDTOMapper;
+import com.proinwest.booking_table_app.user.UserService;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReservationServiceTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final DiningTableService diningTableService = mock(DiningTableService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private ReservationSchedule reservationSchedule;
+    private LocalBookingGuard bookingGuard;
+    private ReservationService reservationService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reservationSchedule = new ReservationSchedule(reservationRepository);
+        bookingGuard = spy(new LocalBookingGuard(new TableDayLocks(), reservationSchedule));
+        ReservationValidator reservationValidator = new ReservationValidator(userService, diningTableService, bookingGuard);
+        reservationService = new ReservationService(reservationRepository, new ReservationDTOMapper(new UserDTOMapper()),
+                reservationValidator, diningTableService, bookingGuard, null, eventPublisher, Duration.ofSeconds(2));
+
+        user = Instancio.create(User.class);
+        AtomicLong ids = new AtomicLong();
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> reservations = invocation.getArgument(0);
+            reservations.forEach(reservation -> reservation.setId(ids.incrementAndGet()));
+            return reservations;
+        });
+        when(userService.findAllById(any())).thenReturn(List.of(user));
+        when(diningTableService.findAllById(any())).thenReturn(List.of(diningTable(1), diningTable(2)));
+    }
+
+    @Test
+    void whenBatchHasConflicts_shouldCreateOnlyAcceptedReservations() {
+        // given
+        when(reservationRepository.findBookedSlots(any(), any(), any(), any())).thenReturn(List.of(new BookedSlot(2, date,
+                LocalDateTime.of(date, LocalTime.of(11, 0)), LocalDateTime.of(date, LocalTime.of(13, 0)))));
+
+        List<Reservation> batch = List.of(
+                reservation(user.getId(), 1, LocalTime.of(12, 0), 2),
+                reservation(user.getId(), 1, LocalTime.of(13, 0), 1),
+                reservation(user.getId(), 2, LocalTime.of(12, 0), 1),
+                reservation(user.getId() + 1, 2, LocalTime.of(15, 0), 1),
+                reservation(user.getId(), 2, LocalTime.of(14, 0), 2)
+        );
+
+        // when
+        List<ReservationBatchResult> results = reservationService.addReservations(batch);
+
+        // then
+        assertEquals(List.of(true, false, false, false, true), results.stream().map(ReservationBatchResult::created).toList());
+        assertEquals(user.getLogin(), results.get(0).reservation().user().login());
+        assertTrue(results.get(1).errors().containsKey("diningTable"));
+        assertTrue(results.get(2).errors().containsKey("diningTable"));
+        assertTrue(results.get(3).errors().containsKey("user"));
+        verify(userService, times(1)).findAllById(any());
+        verify(diningTableService, times(1)).findAllById(any());
+        verify(reservationRepository, times(1)).findBookedSlots(any(), any(), any(), any());
+        verify(reservationRepository, times(1)).saveAll(List.of(batch.get(0), batch.get(4)));
+        verify(reservationRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(new ReservationsChangedEvent(List.of(BookedSlot.of(batch.get(0)), BookedSlot.of(batch.get(4)))));
+    }
+
+    @Test
+    void whenBatchIsEmpty_shouldThrowException() {
+        // when then
+        assertThrows(InvalidInputException.class, () -> reservationService.addReservations(List.of()));
+    }
+
+    @Test
+    void whenReservationMovesToAnotherTable_shouldLockBothTableDays() {
+        // given
+        Reservation stored = stored(reservation(user.getId(), 1, LocalTime.of(12, 0), 2));
+        when(reservationRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+        when(reservationRepository.save(stored)).thenReturn(stored);
+        when(userService.existsById(any())).thenReturn(true);
+        when(diningTableService.existsById(anyInt())).thenReturn(true);
+
+        // when
+        reservationService.updateReservation(stored.getId(), reservation(user.getId(), 2, LocalTime.of(12, 0), 2));
+
+        // then
+        verify(bookingGuard, never()).book(any(), any());
+        verify(bookingGuard).bookAll(argThat(reservations -> reservations.stream()
+                .map(reservation -> reservation.getDiningTable().getId())
+                .collect(Collectors.toSet())
+                .equals(Set.of(1, 2))), any());
+        assertTrue(reservationSchedule.isFree(1, date, LocalTime.of(12, 0), 2));
+        assertFalse(reservationSchedule.isFree(2, date, LocalTime.of(12, 0), 2));
+        verify(eventPublisher).publishEvent(new ReservationsChangedEvent(List.of(
+                new BookedSlot(1, date, date.atTime(12, 0), date.atTime(14, 0)),
+                new BookedSlot(2, date, date.atTime(12, 0), date.atTime(14, 0)))));
+    }
+
+    @Test
+    void whenReservationIsDeleted_shouldRemoveItUnderItsTableDayLock() {
+        // given
+        Reservation stored = stored(reservation(user.getId(), 1, LocalTime.of(12, 0), 2));
+        when(reservationRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        // when
+        reservationService.deleteReservation(stored.getId());
+
+        // then
+        verify(bookingGuard).book(eq(stored), any());
+        verify(reservationRepository).delete(stored);
+        assertTrue(reservationSchedule.isFree(1, date, LocalTime.of(12, 0), 2));
+    }
+
+    /** Reservation as read back from the database and held in the schedule. */
+    private Reservation stored(Reservation reservation) {
+        reservation.setId(7L);
+        reservation.setStartsAt(date.atTime(reservation.getReservationTime()));
+        reservation.setEndsAt(reservation.getStartsAt().plusHours(reservation.getDuration()));
+        reservationSchedule.put(reservation);
+        return reservation;
+    }
+
+    private static DiningTable diningTable(int id) {
+        DiningTable diningTable = new DiningTable();
+        diningTable.setId(id);
+        diningTable.setNumber(id);
+        diningTable.setSeats(4);
+        return diningTable;
+    }
+
+    private Reservation reservation(Long userId, int tableId, LocalTime time, int duration) {
+        User reservationUser = new User();
+        reservationUser.setId(userId);
+
+        Reservation reservation = new Reservation();
+        reservation.setReservationDate(date);
+        reservation.setReservationTime(time);
+        reservation.setDuration(duration);
+        reservation.setUser(reservationUser);
+        reservation.setDiningTable(diningTable(tableId));
+        return reservation;
+    }
+}
@@ -0,0 +1,81 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.RecordingStatementInspector;
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.proinwest.booking_table_app.reservation.ReservationService.MAX_DURATION;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservation_history;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.proinwest.booking_table_app.RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/sql/seed-reservation-history.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class ReservationTimeRangeQueryPlanTest {
+
+    private final LocalDateTime startsAt = LocalDateTime.of(2018, 6, 15, 19, 0);
+
+    @Autowired
+    private DiningTableRepository diningTableRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void seededHistoryShouldHaveMillionReservations() {
+        assertEquals(1_000_000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation", Integer.class));
+    }
+
+    @Test
+    void bookedTablesQuery_shouldUseTimeRangeIndex() {
+        // when
+        List<DiningTable> bookedTables = diningTableRepository
+                .bookedTablesBetween(startsAt, startsAt.plusHours(2), startsAt.minusHours(MAX_DURATION));
+
+        // then
+        assertEquals(100, bookedTables.size());
+        assertIndexed(RecordingStatementInspector.statements().getFirst());
+    }
+
+    @Test
+    void overlappingReservationsQuery_shouldUseTableTimeRangeIndex() {
+        // when
+        List<Reservation> overlapping = reservationRepository
+                .findAllOverlapping(1, startsAt, startsAt.plusHours(2), startsAt.minusHours(MAX_DURATION));
+
+        // then
+        assertEquals(1, overlapping.size());
+        assertIndexed(RecordingStatementInspector.statements().getFirst());
+    }
+
+    private void assertIndexed(String sql) {
+        final String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertNotNull(plan);
+        assertFalse(plan.contains("RESERVATION.tableScan"), plan);
+        assertTrue(plan.contains("IDX_RESERVATION_"), plan);
+    }
+}
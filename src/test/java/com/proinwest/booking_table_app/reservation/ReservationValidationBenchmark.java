@@ -0,0 +1,72 @@
+package com.proinwest.booking_table_app.reservation;
+
+import com.proinwest.booking_table_app.diningTable.DiningTable;
+import com.proinwest.booking_table_app.diningTable.DiningTableService;
+import com.proinwest.booking_table_app.user.User;
+import com.proinwest.booking_table_app.user.UserService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ReservationValidator} on a valid booking and on one failing its date and duration rules.
+ * Existence checks are stubbed and the schedule is empty, so only the validation itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class ReservationValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private ReservationValidator reservationValidator;
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        final UserService userService = new UserService(null, null, null, null, null, null, null, null) {
+            @Override
+            public boolean existsById(Long id) {
+                return true;
+            }
+        };
+        final DiningTableService diningTableService = new DiningTableService(null, null, null, null, null, null, null) {
+            @Override
+            public boolean existsById(int id) {
+                return true;
+            }
+        };
+        final ReservationSchedule reservationSchedule = new ReservationSchedule(Mockito.mock(ReservationRepository.class));
+        reservationValidator = new ReservationValidator(userService, diningTableService,
+                new LocalBookingGuard(new TableDayLocks(), reservationSchedule));
+
+        final User user = new User();
+        user.setId(1L);
+        final DiningTable diningTable = new DiningTable();
+        diningTable.setId(1);
+        reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setDiningTable(diningTable);
+        reservation.setReservationTime(LocalTime.of(19, 0));
+        if (input.equals("valid")) {
+            reservation.setReservationDate(LocalDate.now().plusDays(1));
+            reservation.setDuration(2);
+        } else {
+            reservation.setReservationDate(LocalDate.now().minusDays(1));
+            reservation.setDuration(9);
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> validateReservation() {
+        return reservationValidator.validateReservation(reservation);
+    }
+}
@@ -9,8 +9,6 @@ import org.mockito.Mockito;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -38,16 +36,12 @@ class ReservationValidatorTest {
         existingReservation.setDiningTable(table);
         existingReservation.setDuration(1);
         existingReservation.setUser(user);
-
-        List<Reservation> reservations = new ArrayList<>();
-        reservations.add(existingReservation);
+        existingReservation.setId(1L);
 
         ReservationRepository reservationRepository = Mockito.mock(ReservationRepository.class);
-        Mockito.when(
-                        reservationRepository.findAllByReservationDateAndDiningTableId(reservationDate, tableId)
-                )
-                .thenReturn(reservations);
-        ReservationValidator reservationValidator = new ReservationValidator(null, null, null, reservationRepository);
+        ReservationSchedule reservationSchedule = new ReservationSchedule(reservationRepository);
+        reservationSchedule.put(existingReservation);
+        ReservationValidator reservationValidator = new ReservationValidator(null, null, new LocalBookingGuard(new TableDayLocks(), reservationSchedule));
 
         // when then
         assertThrows(TableNotAvailableException.class, () -> reservationValidator.isTableAvailable(incomingReservation));
@@ -0,0 +1,142 @@
+package com.proinwest.booking_table_app.singleFlight;
+
+import com.proinwest.booking_table_app.exceptions.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final List<Thread> callers = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS, runnable -> {
+        Thread caller = new Thread(runnable);
+        callers.add(caller);
+        return caller;
+    });
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenSameKeyIsRequestedConcurrently_shouldComputeOnceAndShareResult() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+
+        // when
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.run("friday", this::blockedComputation)));
+        }
+        awaitCallersWaiting(CALLERS);
+        release.countDown();
+
+        // then
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(new SingleFlightStatistics(1, CALLERS - 1, 0), singleFlight.statistics());
+    }
+
+    @Test
+    void whenSharedComputationFails_shouldRethrowItsExceptionToAllCallers() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+
+        // when
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.run("friday", () -> {
+                blockedComputation();
+                throw new NotFoundException("No free tables was found according to your requirements.");
+            })));
+        }
+        awaitCallersWaiting(CALLERS);
+        release.countDown();
+
+        // then
+        for (Future<Integer> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(NotFoundException.class, exception.getCause());
+        }
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void whenSharedComputationTakesTooLong_shouldComputeItsOwn() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        Future<Integer> leader = executor.submit(() -> singleFlight.run("friday", this::blockedComputation));
+        awaitCallersWaiting(1);
+
+        // when
+        Integer own = singleFlight.run("friday", () -> 2);
+        release.countDown();
+
+        // then
+        assertEquals(2, own);
+        assertEquals(1, leader.get(10, TimeUnit.SECONDS));
+        assertEquals(new SingleFlightStatistics(2, 0, 1), singleFlight.statistics());
+    }
+
+    @Test
+    void whenKeyIsForgotten_shouldNotJoinItsRunningComputation() throws Exception {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+        Future<Integer> leader = executor.submit(() -> singleFlight.run("friday", this::blockedComputation));
+        awaitCallersWaiting(1);
+
+        // when
+        singleFlight.forget("friday"::equals);
+        Integer fresh = singleFlight.run("friday", () -> 2);
+        release.countDown();
+
+        // then
+        assertEquals(2, fresh);
+        assertEquals(1, leader.get(10, TimeUnit.SECONDS));
+        assertEquals(new SingleFlightStatistics(2, 0, 0), singleFlight.statistics());
+    }
+
+    private Integer blockedComputation() {
+        computations.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return 1;
+    }
+
+    /** Waits until the computing caller is blocked on the latch and all others are waiting for its result. */
+    private void awaitCallersWaiting(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (callers.stream().filter(SingleFlightTest::isWaitingInSingleFlight).count() >= expected) return;
+            Thread.sleep(5);
+        }
+        fail("Callers did not reach the single flight in time.");
+    }
+
+    private static boolean isWaitingInSingleFlight(Thread thread) {
+        Thread.State state = thread.getState();
+        if (state != Thread.State.WAITING && state != Thread.State.TIMED_WAITING) return false;
+        for (StackTraceElement frame : thread.getStackTrace()) {
+            if (frame.getClassName().equals(SingleFlight.class.getName())) return true;
+        }
+        return false;
+    }
+}
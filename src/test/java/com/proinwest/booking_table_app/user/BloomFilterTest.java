@@ -0,0 +1,47 @@
+package com.proinwest.booking_table_app.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldContainEveryAddedKey() {
+        // given
+        BloomFilter filter = BloomFilter.sized(10_000, 0.01);
+
+        // when
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        // then
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@example.com")));
+    }
+
+    @Test
+    void whenFilledToExpectedInsertions_shouldKeepFalsePositiveRateNearConfigured() {
+        // given
+        BloomFilter filter = BloomFilter.sized(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("login" + i));
+
+        // when
+        long falsePositives = IntStream.range(10_000, 110_000).filter(i -> filter.mightContain("login" + i)).count();
+
+        // then
+        assertTrue(falsePositives < 1_500, () -> falsePositives + " false positives in 100000 lookups");
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.003);
+    }
+
+    @Test
+    void whenEmpty_shouldContainNothing() {
+        // given
+        BloomFilter filter = BloomFilter.sized(100, 0.01);
+
+        // when then
+        assertFalse(filter.mightContain("anna"));
+        assertFalse(filter.mightContain(""));
+        assertEquals(0, filter.expectedFalsePositiveRate());
+    }
+}
@@ -0,0 +1,22 @@
+package com.proinwest.booking_table_app.user;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PhoneNumbersTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "+48 123-456-789, 48123456789, 98765432184",
+            "123 456 789, 123456789, 987654321",
+            "'  -- ', ,",
+            ", ,"
+    })
+    void shouldKeepOnlyDigitsInBothDirections(String phoneNumber, String digits, String reversedDigits) {
+        // when then
+        assertEquals(digits, PhoneNumbers.digits(phoneNumber));
+        assertEquals(reversedDigits, PhoneNumbers.reversedDigits(phoneNumber));
+    }
+}
@@ -0,0 +1,88 @@
+package com.proinwest.booking_table_app.user;
+
+import com.proinwest.booking_table_app.BookingTableApplication;
+import com.proinwest.booking_table_app.exceptionHandler.GlobalExceptionHandler;
+import com.proinwest.booking_table_app.exceptions.ValidationException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts in {@code booking.mode=database} sharing one embedded database, standing in for two nodes,
+ * each with its own {@link UniqueFieldsFilter}.
+ */
+class UniqueFieldsClusterTest {
+
+    private static ConfigurableApplicationContext firstNode;
+    private static ConfigurableApplicationContext secondNode;
+
+    @BeforeAll
+    static void startNodes() {
+        firstNode = startNode();
+        secondNode = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        secondNode.close();
+        firstNode.close();
+    }
+
+    @Test
+    void whenLoginWasTakenOnOtherNodeSinceRefresh_shouldAnswerWithLoginFieldError() {
+        // given
+        firstNode.getBean(UserService.class).addUser(user("anowak", "anna.nowak@example.com"));
+
+        // when
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> secondNode.getBean(UserService.class).addUser(user("anowak", "anna@example.com")));
+        ResponseEntity<Map<String, String>> response = new GlobalExceptionHandler().handleDataIntegrityViolationException(exception);
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Map.of("login", "Login already exists. It should be unique."), response.getBody());
+    }
+
+    @Test
+    void whenEmailWasTakenOnOtherNodeBeforeRefresh_shouldBeCheckedBeforeInsert() {
+        // given
+        firstNode.getBean(UserService.class).addUser(user("jkowalski", "jan@example.com"));
+        secondNode.getBean(UserIndexRefresher.class).refresh();
+
+        // when
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> secondNode.getBean(UserService.class).addUser(user("jan", "jan@example.com")));
+
+        // then
+        assertEquals(Map.of("email", "Email address jan@example.com already exists. It should be unique."), exception.getErrors());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BookingTableApplication.class)
+                .properties(
+                        "booking.mode=database",
+                        "spring.datasource.url=jdbc:h2:mem:users_cluster;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.main.web-application-type=none")
+                .run();
+    }
+
+    private static User user(String login, String email) {
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword("secret-password");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(email);
+        user.setPhoneNumber("500600700");
+        return user;
+    }
+}
@@ -0,0 +1,86 @@
+package com.proinwest.booking_table_app.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UniqueFieldsFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void whenRebuilt_shouldContainExistingUsersIgnoringCase() {
+        // given
+        when(userRepository.findAllSearchFieldsAfter(eq(Long.MIN_VALUE), any()))
+                .thenReturn(List.of(new UserDTO(1L, "Anna", "Anna", "Nowak", "Anna.Nowak@example.com", "500 600 700")));
+        UniqueFieldsFilter filter = new UniqueFieldsFilter(userRepository, 100, 0.01);
+
+        // when
+        filter.rebuild();
+
+        // then
+        assertTrue(filter.mightContainLogin("anna"));
+        assertTrue(filter.mightContainEmail("ANNA.NOWAK@EXAMPLE.COM"));
+        assertFalse(filter.mightContainLogin("jan"));
+        assertFalse(filter.mightContainEmail(null));
+    }
+
+    @Test
+    void whenInsertionsOutgrowCapacity_shouldRebuildFromRepository() {
+        // given
+        when(userRepository.findAllSearchFieldsAfter(any(), any())).thenReturn(List.of());
+        UniqueFieldsFilter filter = new UniqueFieldsFilter(userRepository, 2, 0.01);
+        filter.rebuild();
+
+        // when
+        filter.put("anna", "anna@example.com");
+        filter.put("jan", "jan@example.com");
+        filter.put("ola", "ola@example.com");
+
+        // then
+        verify(userRepository, times(2)).findAllSearchFieldsAfter(any(), any());
+        assertEquals(0, filter.statistics().insertions());
+    }
+
+    @Test
+    void whenValuesAreAlreadyHeld_shouldNotCountThemAgain() {
+        // given
+        when(userRepository.findAllSearchFieldsAfter(any(), any())).thenReturn(List.of());
+        UniqueFieldsFilter filter = new UniqueFieldsFilter(userRepository, 100, 0.01);
+        filter.rebuild();
+
+        // when
+        filter.put("anna", "anna@example.com");
+        filter.put("Anna", "anna@example.com");
+        filter.put("anna", "anna.nowak@example.com");
+
+        // then
+        assertEquals(2, filter.statistics().insertions());
+    }
+
+    @Test
+    void shouldCountFalsePositivesOnSignupsOnly() {
+        // given
+        when(userRepository.findAllSearchFieldsAfter(any(), any())).thenReturn(List.of());
+        UniqueFieldsFilter filter = new UniqueFieldsFilter(userRepository, 100, 0.01);
+        filter.rebuild();
+
+        // when
+        filter.recordSkipped();
+        filter.recordQueried(true, true, false, false, false);
+        filter.recordQueried(true, true, true, true, true);
+        filter.recordQueried(false, true, false, true, false);
+
+        // then
+        UniqueFieldsFilterStatistics statistics = filter.statistics();
+        assertEquals(1, statistics.queriesSkipped());
+        assertEquals(3, statistics.queriesRun());
+        assertEquals(1, statistics.falsePositives());
+        assertEquals(0.5, statistics.observedFalsePositiveRate());
+    }
+}
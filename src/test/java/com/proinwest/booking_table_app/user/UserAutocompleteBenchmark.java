@@ -0,0 +1,47 @@
+package com.proinwest.booking_table_app.user;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete latency at 1M users for prefixes of growing selectivity, from one letter shared by most users
+ * to a single login, plus a prefix nothing starts with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserAutocompleteBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int LIMIT = 10;
+    private static final String[] FIRST_NAMES = {"Anna", "Jan", "Piotr", "Maria", "Katarzyna", "Tomasz", "Agnieszka", "Marek"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kaminski", "Lewandowski", "Zielinski"};
+
+    @Param({"a", "kowal", "guest4242", "guest424242@", "zzz"})
+    public String prefix;
+
+    private UserAutocomplete userAutocomplete;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(42);
+        userAutocomplete = new UserAutocomplete(Mockito.mock(UserRepository.class));
+
+        for (long id = 1; id <= USERS; id++) {
+            userAutocomplete.put(new UserDTO(id, "guest" + id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + id % 97, "guest" + id + "@example.com", null));
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> complete() {
+        return userAutocomplete.complete(prefix, LIMIT);
+    }
+}
@@ -0,0 +1,55 @@
+package com.proinwest.booking_table_app.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class UserAutocompleteTest {
+
+    private final UserAutocomplete userAutocomplete = new UserAutocomplete(mock(UserRepository.class));
+
+    @BeforeEach
+    void setUp() {
+        userAutocomplete.put(new UserDTO(3L, "anowak", "Anna", "Nowak", "anna.nowak@example.com", "500600700"));
+        userAutocomplete.put(new UserDTO(1L, "jkowalski", "Jan", "Kowalski", "jan@example.com", "500111222"));
+        userAutocomplete.put(new UserDTO(2L, "pnowakowski", "Piotr", "Nowakowski", "piotr@example.org", null));
+    }
+
+    @Test
+    void complete_shouldMatchPrefixOfAnyFieldIgnoringCase() {
+        // when then
+        assertEquals(List.of(3L, 2L), ids(userAutocomplete.complete(" NOWAK", 10)));
+        assertEquals(List.of(1L), ids(userAutocomplete.complete("jan@", 10)));
+        assertEquals(List.of(), ids(userAutocomplete.complete("owak", 10)));
+        assertEquals(List.of(), ids(userAutocomplete.complete("500", 10)));
+    }
+
+    @Test
+    void complete_shouldReturnEachUserOnceUpToLimit() {
+        // given "an" starts the login, first name and email of user 3
+        // when then
+        assertEquals(List.of(3L), ids(userAutocomplete.complete("an", 10)));
+        assertEquals(List.of(3L), ids(userAutocomplete.complete("nowak", 1)));
+        assertEquals(List.of(), ids(userAutocomplete.complete("  ", 10)));
+    }
+
+    @Test
+    void complete_shouldFollowUpdatesAndRemovals() {
+        // given
+        userAutocomplete.put(new UserDTO(1L, "jkowalska", "Janina", "Kowalska", "janina@example.com", null));
+        userAutocomplete.remove(3L);
+
+        // when then
+        assertEquals(List.of(), ids(userAutocomplete.complete("kowalski", 10)));
+        assertEquals("Janina", userAutocomplete.complete("kowalska", 10).getFirst().firstName());
+        assertEquals(List.of(2L), ids(userAutocomplete.complete("nowak", 10)));
+    }
+
+    private static List<Long> ids(List<UserDTO> users) {
+        return users.stream().map(UserDTO::id).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.proinwest.booking_table_app.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.proinwest.booking_table_app.user.UserIndexRefresher.REFRESH_CHUNK;
+import static com.proinwest.booking_table_app.user.UserSearchIndex.Field.ANY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserIndexRefresherTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSearchIndex userSearchIndex = new UserSearchIndex(userRepository);
+    private final UserAutocomplete userAutocomplete = new UserAutocomplete(userRepository);
+    private final UniqueFieldsFilter uniqueFieldsFilter = new UniqueFieldsFilter(userRepository, 100_000, 0.01);
+    private final UserIndexRefresher userIndexRefresher =
+            new UserIndexRefresher(userRepository, userSearchIndex, userAutocomplete, uniqueFieldsFilter, Duration.ofMinutes(5));
+
+    @Test
+    void whenUsersChangedElsewhere_shouldBringIndexesInLineWithDatabase() {
+        // given users over more than one chunk, of which the database no longer has 2 and the last one,
+        // renamed 3 and has a new user 5 in the middle of the first chunk
+        uniqueFieldsFilter.rebuild();
+        final List<UserDTO> stored = new ArrayList<>();
+        for (long id = 1; id <= REFRESH_CHUNK + 2; id++) {
+            if (id == 5) continue;
+            final UserDTO user = user(id, "guest" + id);
+            userSearchIndex.put(user);
+            userAutocomplete.put(user);
+            if (id != 2 && id != REFRESH_CHUNK + 2) stored.add(id == 3 ? user(3, "zenon") : user);
+            if (id == 4) stored.add(user(5, "zofia"));
+        }
+        when(userRepository.findAllSearchFieldsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            final long afterId = invocation.getArgument(0);
+            return stored.stream().filter(user -> user.id() > afterId).limit(REFRESH_CHUNK).toList();
+        });
+
+        // when
+        userIndexRefresher.refresh();
+
+        // then
+        final long[] storedIds = stored.stream().mapToLong(UserDTO::id).toArray();
+        assertArrayEquals(storedIds, userSearchIndex.ids());
+        assertArrayEquals(storedIds, userAutocomplete.ids());
+        assertEquals(List.of(3L, 4L, 5L, 6L), userSearchIndex.search(ANY, "@example", 1, 4));
+        assertEquals(List.of(3L), userSearchIndex.search(ANY, "zenon", Long.MIN_VALUE, 10));
+        assertEquals(List.of(), userSearchIndex.search(ANY, "guest3@", Long.MIN_VALUE, 10));
+        assertEquals(List.of(3L, 5L), userAutocomplete.complete("z", 10).stream().map(UserDTO::id).toList());
+        assertEquals(List.of(), userAutocomplete.complete("guest3@", 10));
+        assertTrue(uniqueFieldsFilter.mightContainLogin("zofia"));
+        assertTrue(uniqueFieldsFilter.mightContainEmail("zenon@example.com"));
+    }
+
+    private static UserDTO user(long id, String login) {
+        return new UserDTO(id, login, "First", "Last", login + "@example.com", null);
+    }
+}
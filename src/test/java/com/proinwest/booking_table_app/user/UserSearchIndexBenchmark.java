@@ -0,0 +1,69 @@
+package com.proinwest.booking_table_app.user;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency at 1M users: {@link UserSearchIndex} against a linear {@code contains} scan of the same fields.
+ * The scan stands in for the {@code LIKE '%x%'} full table scan without its I/O, so the difference is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSearchIndexBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PAGE = 50;
+    private static final String[] FIRST_NAMES = {"Anna", "Jan", "Piotr", "Maria", "Katarzyna", "Tomasz", "Agnieszka", "Marek"};
+    private static final String[] LAST_NAMES = {"Nowak", "Kowalski", "Wisniewski", "Wojcik", "Kaminski", "Lewandowski", "Zielinski"};
+
+    @Param({"guest424242", "lewandowski", "600700", "an"})
+    public String fragment;
+
+    private UserSearchIndex userSearchIndex;
+    private List<String[]> fields;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(42);
+        userSearchIndex = new UserSearchIndex(Mockito.mock(UserRepository.class));
+        fields = new ArrayList<>(USERS);
+
+        for (long id = 1; id <= USERS; id++) {
+            final String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            final String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (random.nextInt(50) == 0 ? "-Nowak" : "");
+            final UserDTO user = new UserDTO(id, "guest" + id, firstName, lastName + id % 97,
+                    "guest" + id + "@example.com", String.valueOf(100_000_000 + random.nextInt(900_000_000)));
+            userSearchIndex.put(user);
+            fields.add(new String[]{user.login().toLowerCase(Locale.ROOT), user.firstName().toLowerCase(Locale.ROOT),
+                    user.lastName().toLowerCase(Locale.ROOT), user.email().toLowerCase(Locale.ROOT), user.phoneNumber()});
+        }
+    }
+
+    @Benchmark
+    public List<Long> trigramIndex() {
+        return userSearchIndex.search(UserSearchIndex.Field.ANY, fragment, Long.MIN_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> linearScan() {
+        final String needle = fragment.toLowerCase(Locale.ROOT);
+        final List<Long> ids = new ArrayList<>(PAGE);
+        for (int i = 0; i < fields.size() && ids.size() < PAGE; i++) {
+            final String[] user = fields.get(i);
+            if (user[0].contains(needle) || user[1].contains(needle) || user[2].contains(needle) || user[3].contains(needle)) {
+                ids.add(i + 1L);
+            }
+        }
+        return ids;
+    }
+}
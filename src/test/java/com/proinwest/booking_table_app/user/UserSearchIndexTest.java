@@ -0,0 +1,106 @@
+package com.proinwest.booking_table_app.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.proinwest.booking_table_app.user.UserSearchIndex.Field.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class UserSearchIndexTest {
+
+    private final UserSearchIndex userSearchIndex = new UserSearchIndex(mock(UserRepository.class));
+
+    @BeforeEach
+    void setUp() {
+        userSearchIndex.put(new UserDTO(3L, "anowak", "Anna", "Nowak", "anna.nowak@example.com", "500600700"));
+        userSearchIndex.put(new UserDTO(1L, "jkowalski", "Jan", "Kowalski", "jan@example.com", "500111222"));
+        userSearchIndex.put(new UserDTO(2L, "pnowakowski", "Piotr", "Nowakowski", "piotr@example.org", null));
+    }
+
+    @Test
+    void search_shouldMatchSubstringIgnoringCaseInIdOrder() {
+        // when then
+        assertEquals(List.of(2L, 3L), userSearchIndex.search(LAST_NAME, "NOWAK", Long.MIN_VALUE, 10));
+        assertEquals(List.of(1L), userSearchIndex.search(LAST_NAME, "owalsk", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    void search_shouldOnlyMatchRequestedField() {
+        // when then
+        assertEquals(List.of(), userSearchIndex.search(FIRST_NAME, "nowak", Long.MIN_VALUE, 10));
+        assertEquals(List.of(1L, 3L), userSearchIndex.search(EMAIL, "example.com", Long.MIN_VALUE, 10));
+        assertEquals(List.of(1L, 2L, 3L), userSearchIndex.search(ANY, "example", Long.MIN_VALUE, 10));
+        assertEquals(List.of(), userSearchIndex.search(ANY, "500600", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    void search_shouldRejectCandidatesWithAllTrigramsButNoSubstring() {
+        // given every trigram of "kowals" appears in "kowa wals", but the substring does not
+        userSearchIndex.put(new UserDTO(4L, "kowa wals", null, null, null, null));
+
+        // when then
+        assertEquals(List.of(1L), userSearchIndex.search(LOGIN, "kowals", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    void search_shouldScanForFragmentsShorterThanTrigram() {
+        // when then
+        assertEquals(List.of(1L, 3L), userSearchIndex.search(FIRST_NAME, "an", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    void search_shouldPageAfterIdWithLimit() {
+        // when then
+        assertEquals(List.of(1L, 2L), userSearchIndex.search(ANY, "example", Long.MIN_VALUE, 2));
+        assertEquals(List.of(3L), userSearchIndex.search(ANY, "example", 2L, 2));
+    }
+
+    @Test
+    void search_shouldReturnSmallestIdsWhenIndexedInIdOrder() {
+        // given
+        UserSearchIndex orderedIndex = new UserSearchIndex(mock(UserRepository.class));
+        for (long id = 1; id <= 5; id++) {
+            orderedIndex.put(new UserDTO(id, "guest" + id, null, null, null, null));
+        }
+
+        // when then
+        assertEquals(List.of(3L, 4L), orderedIndex.search(LOGIN, "guest", 2L, 2));
+    }
+
+    @Test
+    void putAndRemove_shouldKeepIndexCurrent() {
+        // when
+        userSearchIndex.put(new UserDTO(3L, "anowak", "Anna", "Lis", "anna.lis@example.com", "500600700"));
+        userSearchIndex.remove(2L);
+
+        // then
+        assertEquals(List.of(), userSearchIndex.search(LAST_NAME, "nowak", Long.MIN_VALUE, 10));
+        assertEquals(List.of(3L), userSearchIndex.search(EMAIL, "lis@", Long.MIN_VALUE, 10));
+        assertEquals(List.of(), userSearchIndex.search(LOGIN, "pnowak", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    void whenMostUsersAreRemoved_shouldReuseTheirSlots() {
+        // given
+        UserSearchIndex compactedIndex = new UserSearchIndex(mock(UserRepository.class));
+        for (long id = 1; id <= 4000; id++) {
+            compactedIndex.put(new UserDTO(id, "guest" + id, "First", "Last", "guest" + id + "@example.com", null));
+        }
+
+        // when
+        for (long id = 1; id <= 4000; id++) {
+            if (id % 4 != 0) compactedIndex.remove(id);
+        }
+
+        // then
+        assertTrue(compactedIndex.slots() < 2000);
+        assertEquals(1000, compactedIndex.ids().length);
+        assertEquals(List.of(4L, 8L, 12L), compactedIndex.search(LOGIN, "guest", Long.MIN_VALUE, 3));
+        assertEquals(List.of(3996L), compactedIndex.search(EMAIL, "guest3996@", Long.MIN_VALUE, 10));
+        assertEquals(List.of(), compactedIndex.search(EMAIL, "guest3995@", Long.MIN_VALUE, 10));
+    }
+}
@@ -0,0 +1,55 @@
+package com.proinwest.booking_table_app.user;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link UserValidator} on a valid user and on one failing several field rules.
+ * The uniqueness query is stubbed, so only the validation itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class UserValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private UserValidator userValidator;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        final UserService userService = new UserService(null, null, null, null, null, null, null, null) {
+            @Override
+            UniqueFieldsTaken findUniqueFieldsTakenByOthers(Long id, String login, String email) {
+                return new UniqueFieldsTaken(false, false);
+            }
+        };
+        userValidator = new UserValidator(userService);
+
+        user = new User();
+        user.setLogin("anna.nowak");
+        user.setFirstName("Anna");
+        user.setLastName("Nowak");
+        if (input.equals("valid")) {
+            user.setPassword("correct horse battery");
+            user.setEmail("anna.nowak@example.com");
+            user.setPhoneNumber("+48 500 600 700");
+        } else {
+            user.setPassword("short");
+            user.setEmail("anna.nowak@example");
+            user.setPhoneNumber("500-600-70a");
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> validateUser() {
+        return userValidator.validateUser(user, 1L);
+    }
+}
@@ -0,0 +1,46 @@
+package com.proinwest.booking_table_app.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.proinwest.booking_table_app.validation.Check.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulesTest {
+
+    private record Guest(String name, Integer age) {
+    }
+
+    private static final Rules<Guest> RULES = Rules.<Guest>builder()
+            .field("name", Guest::name, required("Name is required."), maxLength(5, "Name is too long."), matches("[a-z]+", "Name is not lowercase."))
+            .field("age", Guest::age, required("Age is required."), between(18, 99, "Age is out of range."))
+            .build();
+
+    @Test
+    void whenAllFieldsAreValid_shouldReturnSharedEmptyMap() {
+        // when
+        Map<String, String> errors = RULES.validate(new Guest("anna", 30));
+
+        // then
+        assertSame(Map.of(), errors);
+    }
+
+    @Test
+    void whenFieldsAreInvalid_shouldReportFirstFailingCheckOfEachField() {
+        // when
+        Map<String, String> errors = RULES.validate(new Guest("Annabelle", null));
+
+        // then
+        assertEquals(Map.of("name", "Name is too long.", "age", "Age is required."), errors);
+    }
+
+    @Test
+    void whenBlank_shouldReportRequired() {
+        // when
+        Map<String, String> errors = RULES.validate(new Guest(" ", 120));
+
+        // then
+        assertEquals(Map.of("name", "Name is required.", "age", "Age is out of range."), errors);
+    }
+}
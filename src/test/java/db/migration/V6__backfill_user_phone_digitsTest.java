@@ -0,0 +1,46 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class V6__backfill_user_phone_digitsTest {
+
+    @Test
+    void migrate_shouldFillDigitColumnsOfExistingUsers() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:phone_backfill;MODE=MySQL;NON_KEYWORDS=USER");
+             Statement statement = connection.createStatement())
+        {
+            // given
+            statement.execute("CREATE TABLE user (id BIGINT PRIMARY KEY, phone_number VARCHAR(255), " +
+                    "phone_digits VARCHAR(20), phone_digits_reversed VARCHAR(20))");
+            statement.execute("INSERT INTO user (id, phone_number) VALUES (1, '+48 123-456-789'), (2, NULL), (3, '500600700')");
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+
+            // when
+            new V6__backfill_user_phone_digits().migrate(context);
+
+            // then
+            try (ResultSet users = statement.executeQuery("SELECT phone_digits, phone_digits_reversed FROM user ORDER BY id")) {
+                assertTrue(users.next());
+                assertEquals("48123456789", users.getString(1));
+                assertEquals("98765432184", users.getString(2));
+                assertTrue(users.next());
+                assertNull(users.getString(1));
+                assertTrue(users.next());
+                assertEquals("007006005", users.getString(2));
+            }
+        }
+    }
+}
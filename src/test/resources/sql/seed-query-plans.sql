@@ -0,0 +1,19 @@
+INSERT INTO user (login, password, first_name, last_name, email, phone_number, phone_digits, phone_digits_reversed)
+SELECT 'guest' || X, 'password', 'Anna' || X, 'Nowak' || X, 'guest' || X || '@example.com',
+       CAST(500000000 + X AS VARCHAR), CAST(500000000 + X AS VARCHAR), CAST(X AS VARCHAR) || '000005'
+FROM SYSTEM_RANGE(1, 2000);
+
+INSERT INTO dining_table (number, seats)
+SELECT X, 2 + MOD(X, 6) FROM SYSTEM_RANGE(1, 100);
+
+INSERT INTO reservation (reservation_date, reservation_time, duration, user_id, table_id, starts_at, ends_at)
+SELECT DATEADD(DAY, X / 100, DATE '2020-01-01'),
+       DATEADD(HOUR, MOD(X, 4) * 3, TIME '11:00:00'),
+       2,
+       (SELECT MIN(id) FROM user) + MOD(X, 2000),
+       (SELECT MIN(id) FROM dining_table) + MOD(X / 4, 100),
+       DATEADD(HOUR, MOD(X, 4) * 3 + 11, CAST(DATEADD(DAY, X / 100, DATE '2020-01-01') AS TIMESTAMP)),
+       DATEADD(HOUR, MOD(X, 4) * 3 + 13, CAST(DATEADD(DAY, X / 100, DATE '2020-01-01') AS TIMESTAMP))
+FROM SYSTEM_RANGE(0, 49999);
+
+ANALYZE;
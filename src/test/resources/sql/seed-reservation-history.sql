@@ -0,0 +1,19 @@
+INSERT INTO user (login, password, first_name, last_name, email, phone_number)
+VALUES ('history', 'history-password', 'History', 'Seed', 'history@example.com', '123456789');
+
+INSERT INTO dining_table (number, seats)
+SELECT X, 2 + MOD(X, 6) FROM SYSTEM_RANGE(1, 100);
+
+INSERT INTO reservation (reservation_date, reservation_time, duration, user_id, table_id, starts_at, ends_at)
+SELECT DATEADD(DAY, X / 400, DATE '2015-01-01'),
+       DATEADD(HOUR, MOD(X, 4) * 3, TIME '11:00:00'),
+       2,
+       (SELECT MIN(id) FROM user),
+       1 + MOD(X / 4, 100),
+       DATEADD(HOUR, MOD(X, 4) * 3 + 11, CAST(DATEADD(DAY, X / 400, DATE '2015-01-01') AS TIMESTAMP)),
+       DATEADD(HOUR, MOD(X, 4) * 3 + 13, CAST(DATEADD(DAY, X / 400, DATE '2015-01-01') AS TIMESTAMP))
+FROM SYSTEM_RANGE(0, 999999);
+
+UPDATE id_generator SET next_val = (SELECT MAX(id) FROM user) WHERE sequence_name = 'user';
+UPDATE id_generator SET next_val = (SELECT MAX(id) FROM dining_table) WHERE sequence_name = 'dining_table';
+UPDATE id_generator SET next_val = (SELECT MAX(id) FROM reservation) WHERE sequence_name = 'reservation';